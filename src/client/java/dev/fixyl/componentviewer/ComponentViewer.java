@@ -25,14 +25,23 @@
 package dev.fixyl.componentviewer;
 
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+
+import net.minecraft.resource.ResourceType;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import dev.fixyl.componentviewer.config.Configs;
+import dev.fixyl.componentviewer.control.CacheInvalidator;
+import dev.fixyl.componentviewer.control.ComponentOrder;
 import dev.fixyl.componentviewer.control.ControlFlow;
 import dev.fixyl.componentviewer.event.TooltipCallback;
+import dev.fixyl.componentviewer.formatting.Formatters;
 import dev.fixyl.componentviewer.keyboard.KeyBindings;
 
 public final class ComponentViewer implements ClientModInitializer {
@@ -40,21 +49,31 @@ public final class ComponentViewer implements ClientModInitializer {
 
     public final Logger logger;
     public final Configs configs;
+    public final Formatters formatters;
 
     public ComponentViewer() {
         ComponentViewer.setInstance(this);
 
         this.logger = LoggerFactory.getLogger(this.getClass());
         this.configs = new Configs(this.logger);
+        this.formatters = new Formatters();
     }
 
     @Override
     public void onInitializeClient() {
-        ControlFlow controlFlow = new ControlFlow(this.configs);
+        ControlFlow controlFlow = new ControlFlow(this.configs, this.formatters);
         TooltipCallback.EVENT.register(controlFlow::onTooltip);
+        ClientTickEvents.END_CLIENT_TICK.register(controlFlow::onClientTick);
+        ClientLifecycleEvents.CLIENT_STARTED.register(ComponentOrder::onClientStarted);
 
         KeyBindings keyBindings = new KeyBindings();
         ClientTickEvents.END_CLIENT_TICK.register(keyBindings::onClientTick);
+
+        CacheInvalidator cacheInvalidator = new CacheInvalidator();
+        ClientPlayConnectionEvents.JOIN.register(cacheInvalidator::onJoin);
+        ClientPlayConnectionEvents.DISCONNECT.register(cacheInvalidator::onDisconnect);
+        CommonLifecycleEvents.TAGS_LOADED.register(cacheInvalidator::onTagsLoaded);
+        ResourceManagerHelper.get(ResourceType.CLIENT_RESOURCES).registerReloadListener(cacheInvalidator);
     }
 
     public static ComponentViewer getInstance() {
@@ -34,6 +34,7 @@ import dev.fixyl.componentviewer.config.enums.TooltipComponents;
 import dev.fixyl.componentviewer.config.enums.TooltipDisplay;
 import dev.fixyl.componentviewer.config.enums.TooltipFormatting;
 import dev.fixyl.componentviewer.config.enums.TooltipPurpose;
+import dev.fixyl.componentviewer.config.enums.TooltipScheduling;
 import dev.fixyl.componentviewer.config.option.AdvancedOption;
 import dev.fixyl.componentviewer.config.option.BooleanOption;
 import dev.fixyl.componentviewer.config.option.EnumOption;
@@ -58,9 +59,15 @@ public final class Configs implements Options {
             this.tooltipPurpose,
             this.tooltipComponents,
             this.tooltipComponentValues,
+            this.tooltipSelectionWindow,
             this.tooltipFormatting,
             this.tooltipIndentation,
             this.tooltipColoredFormatting,
+            this.tooltipParallelThreshold,
+            this.tooltipScheduling,
+            this.tooltipFrameBudget,
+            this.tooltipWarmup,
+            this.tooltipPrefetching,
             this.tooltipAdvancedTooltips,
             this.clipboardCopy,
             this.clipboardFormatting,
@@ -102,6 +109,15 @@ public final class Configs implements Options {
         .setDependency(() -> this.tooltipDisplay.getValue() != TooltipDisplay.NEVER && this.tooltipPurpose.getValue() == TooltipPurpose.COMPONENTS)
         .setChangeCallback(this::changeCallback)
         .build();
+    public final IntegerOption tooltipSelectionWindow = IntegerOption.create("tooltip.selection_window")
+        .setDefaultValue(8)
+        .setIntegerRange(0, 20)
+        .setTranslationKey("componentviewer.config.tooltip.selection_window")
+        .setDescriptionTranslationKey("componentviewer.config.tooltip.selection_window.description")
+        .setTranslationKeyOverwrite(value -> (value == 0) ? "componentviewer.config.tooltip.selection_window.off" : "componentviewer.config.tooltip.selection_window.value")
+        .setDependency(() -> this.tooltipDisplay.getValue() != TooltipDisplay.NEVER && this.tooltipPurpose.getValue() == TooltipPurpose.COMPONENTS)
+        .setChangeCallback(this::changeCallback)
+        .build();
     public final EnumOption<TooltipFormatting> tooltipFormatting = EnumOption.<TooltipFormatting>create("tooltip.formatting")
         .setDefaultValue(TooltipFormatting.SNBT)
         .setTranslationKey("componentviewer.config.tooltip.formatting")
@@ -125,6 +141,45 @@ public final class Configs implements Options {
         .setDependency(() -> this.tooltipDisplay.getValue() != TooltipDisplay.NEVER && ((this.tooltipPurpose.getValue() == TooltipPurpose.COMPONENTS && this.tooltipComponentValues.getBooleanValue()) || this.tooltipPurpose.getValue() == TooltipPurpose.ITEM_STACK))
         .setChangeCallback(this::changeCallback)
         .build();
+    public final IntegerOption tooltipParallelThreshold = IntegerOption.create("tooltip.parallel_threshold")
+        .setDefaultValue(0)
+        .setIntegerRange(0, 100)
+        .setTranslationKey("componentviewer.config.tooltip.parallel_threshold")
+        .setDescriptionTranslationKey("componentviewer.config.tooltip.parallel_threshold.description")
+        .setTranslationKeyOverwrite(value -> (value == 0) ? "componentviewer.config.tooltip.parallel_threshold.off" : "componentviewer.config.tooltip.parallel_threshold.value")
+        .setDependency(() -> this.tooltipDisplay.getValue() != TooltipDisplay.NEVER && ((this.tooltipPurpose.getValue() == TooltipPurpose.COMPONENTS && this.tooltipComponentValues.getBooleanValue()) || this.tooltipPurpose.getValue() == TooltipPurpose.ITEM_STACK))
+        .setChangeCallback(this::changeCallback)
+        .build();
+    public final EnumOption<TooltipScheduling> tooltipScheduling = EnumOption.<TooltipScheduling>create("tooltip.scheduling")
+        .setDefaultValue(TooltipScheduling.SYNC)
+        .setTranslationKey("componentviewer.config.tooltip.scheduling")
+        .setDescriptionTranslationKey("componentviewer.config.tooltip.scheduling.description")
+        .setDependency(() -> this.tooltipDisplay.getValue() != TooltipDisplay.NEVER && ((this.tooltipPurpose.getValue() == TooltipPurpose.COMPONENTS && this.tooltipComponentValues.getBooleanValue()) || this.tooltipPurpose.getValue() == TooltipPurpose.ITEM_STACK))
+        .setChangeCallback(this::changeCallback)
+        .build();
+    public final IntegerOption tooltipFrameBudget = IntegerOption.create("tooltip.frame_budget")
+        .setDefaultValue(1000)
+        .setIntegerRange(100, 5000)
+        .setTranslationKey("componentviewer.config.tooltip.frame_budget")
+        .setDescriptionTranslationKey("componentviewer.config.tooltip.frame_budget.description")
+        .setTranslationKeyOverwrite(value -> "componentviewer.config.tooltip.frame_budget.value")
+        .setDependency(() -> this.tooltipDisplay.getValue() != TooltipDisplay.NEVER && ((this.tooltipPurpose.getValue() == TooltipPurpose.COMPONENTS && this.tooltipComponentValues.getBooleanValue()) || this.tooltipPurpose.getValue() == TooltipPurpose.ITEM_STACK) && this.tooltipScheduling.getValue() == TooltipScheduling.INCREMENTAL)
+        .setChangeCallback(this::changeCallback)
+        .build();
+    public final BooleanOption tooltipWarmup = BooleanOption.create("tooltip.warmup")
+        .setDefaultValue(false)
+        .setTranslationKey("componentviewer.config.tooltip.warmup")
+        .setDescriptionTranslationKey("componentviewer.config.tooltip.warmup.description")
+        .setDependency(() -> this.tooltipDisplay.getValue() != TooltipDisplay.NEVER)
+        .setChangeCallback(this::changeCallback)
+        .build();
+    public final BooleanOption tooltipPrefetching = BooleanOption.create("tooltip.prefetching")
+        .setDefaultValue(true)
+        .setTranslationKey("componentviewer.config.tooltip.prefetching")
+        .setDescriptionTranslationKey("componentviewer.config.tooltip.prefetching.description")
+        .setDependency(() -> this.tooltipDisplay.getValue() != TooltipDisplay.NEVER && ((this.tooltipPurpose.getValue() == TooltipPurpose.COMPONENTS && this.tooltipComponentValues.getBooleanValue()) || this.tooltipPurpose.getValue() == TooltipPurpose.ITEM_STACK))
+        .setChangeCallback(this::changeCallback)
+        .build();
     public final BooleanOption tooltipAdvancedTooltips = BooleanOption.create("tooltip.advanced_tooltips")
         .setDefaultValue(false)
         .setTranslationKey("componentviewer.config.tooltip.advanced_tooltips")
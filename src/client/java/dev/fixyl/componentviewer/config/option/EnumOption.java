@@ -57,10 +57,13 @@ public class EnumOption<E extends Enum<E> & TranslatableOption> extends Advanced
         return this.enumClass.getEnumConstants();
     }
 
-    public void cycleValue() {
+    public E getNextValue() {
         int nextId = this.simpleOption.getValue().getId() + 1;
-        E nextValue = this.getEnumById(nextId);
-        this.simpleOption.setValue(nextValue);
+        return this.getEnumById(nextId);
+    }
+
+    public void cycleValue() {
+        this.simpleOption.setValue(this.getNextValue());
     }
 
     @Override
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package dev.fixyl.componentviewer.control;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import net.minecraft.text.Text;
+
+import org.jetbrains.annotations.Nullable;
+
+import dev.fixyl.componentviewer.formatting.FormattingCancellation;
+import dev.fixyl.componentviewer.formatting.FormattingException;
+import dev.fixyl.componentviewer.util.ResultCache;
+
+public final class AsyncFormatter {
+    private static final String THREAD_NAME = "ComponentViewer Formatter";
+    private static final int COMPLETED_RESULTS_CAPACITY = 16;
+
+    private final ExecutorService executorService;
+    private final ResultCache<List<Text>> completedResults;
+
+    private List<Object> pendingKey;
+    private int pendingGeneration;
+    private Future<List<Text>> pendingJob;
+
+    // Only the latest job keeps formatting, older ones stop
+    // as soon as they notice that they have been superseded
+    private volatile int latestJobId;
+
+    public AsyncFormatter() {
+        this.executorService = BackgroundTasks.createExecutor(AsyncFormatter.THREAD_NAME);
+
+        this.completedResults = new ResultCache<>(AsyncFormatter.COMPLETED_RESULTS_CAPACITY);
+    }
+
+    // Must only be called from the render thread. Returns null
+    // as long as the formatting job hasn't finished yet.
+    public @Nullable List<Text> format(Supplier<List<Text>> formatting, Object... arguments) {
+        List<Text> completedResult = this.completedResults.get(arguments);
+        if (completedResult != null) {
+            return completedResult;
+        }
+
+        List<Object> key = Arrays.asList(arguments);
+        int generation = CacheInvalidator.getGeneration();
+
+        // Jobs for stacks or components which aren't displayed anymore, or which were
+        // started before the caches got invalidated, are dropped. Running jobs are
+        // cancelled between entries of the formatted value.
+        if (!key.equals(this.pendingKey) || generation != this.pendingGeneration) {
+            if (this.pendingJob != null) {
+                this.pendingJob.cancel(false);
+            }
+
+            int jobId = ++this.latestJobId;
+            BooleanSupplier isCancelled = () -> this.latestJobId != jobId || CacheInvalidator.getGeneration() != generation;
+
+            this.pendingKey = key;
+            this.pendingGeneration = generation;
+            this.pendingJob = this.executorService.submit(() -> FormattingCancellation.call(isCancelled, formatting));
+
+            return null;
+        }
+
+        if (!this.pendingJob.isDone()) {
+            return null;
+        }
+
+        List<Text> result = AsyncFormatter.getResult(this.pendingJob);
+        this.completedResults.put(result, arguments);
+
+        return result;
+    }
+
+    private static List<Text> getResult(Future<List<Text>> job) {
+        try {
+            return job.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof FormattingException formattingException) {
+                throw formattingException;
+            }
+
+            throw new FormattingException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FormattingException(e);
+        }
+    }
+}
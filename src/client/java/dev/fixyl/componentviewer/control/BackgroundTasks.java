@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.fixyl.componentviewer.control;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+
+import dev.fixyl.componentviewer.formatting.FormattingCancellation;
+import dev.fixyl.componentviewer.formatting.FormattingException;
+
+public final class BackgroundTasks {
+    private BackgroundTasks() {}
+
+    // Background work must never keep the game from closing
+    // or take processing time away from the render thread
+    public static ExecutorService createExecutor(String threadName) {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+
+            return thread;
+        });
+    }
+
+    // Runs the tasks one after another until either all of them are done, the budget is
+    // used up, the running thread gets interrupted or the caches get invalidated. The
+    // latter two also stop the formatting of the task which is currently running.
+    // Returns the time spent, so a budget can be shared by several runs.
+    public static long runWithBudget(List<Runnable> tasks, long budgetNanos) {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+
+        Thread thread = Thread.currentThread();
+        int generation = CacheInvalidator.getGeneration();
+        BooleanSupplier isCancelled = () -> thread.isInterrupted() || CacheInvalidator.getGeneration() != generation;
+
+        for (Runnable task : tasks) {
+            if (isCancelled.getAsBoolean() || System.nanoTime() - deadline >= 0) {
+                break;
+            }
+
+            try {
+                FormattingCancellation.run(isCancelled, task);
+            } catch (FormattingException e) {
+                // The exception will show up again once the formatted
+                // value actually gets displayed in a tooltip
+            }
+        }
+
+        return System.nanoTime() - start;
+    }
+}
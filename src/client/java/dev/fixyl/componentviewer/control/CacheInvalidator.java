@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package dev.fixyl.componentviewer.control;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.fabricmc.fabric.api.networking.v1.PacketSender;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayNetworkHandler;
+import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.util.Identifier;
+
+import dev.fixyl.componentviewer.formatting.RegistryOpsProvider;
+import dev.fixyl.componentviewer.util.ResultCache;
+
+public final class CacheInvalidator implements SimpleSynchronousResourceReloadListener {
+    private static final Identifier RELOAD_LISTENER_ID = Identifier.of("componentviewer", "cache_invalidator");
+
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+    public void onJoin(ClientPlayNetworkHandler networkHandler, PacketSender packetSender, MinecraftClient minecraftClient) {
+        RegistryOpsProvider.update(networkHandler.getRegistryManager());
+        CacheInvalidator.invalidate();
+    }
+
+    public void onDisconnect(ClientPlayNetworkHandler networkHandler, MinecraftClient minecraftClient) {
+        RegistryOpsProvider.clear();
+        CacheInvalidator.invalidate();
+    }
+
+    // Synchronized registries are published together with
+    // their tags, so the registry ops are rebuilt here as well
+    public void onTagsLoaded(DynamicRegistryManager registryManager, boolean client) {
+        if (client) {
+            RegistryOpsProvider.update(registryManager);
+            CacheInvalidator.invalidate();
+        }
+    }
+
+    @Override
+    public Identifier getFabricId() {
+        return CacheInvalidator.RELOAD_LISTENER_ID;
+    }
+
+    @Override
+    public void reload(ResourceManager resourceManager) {
+        CacheInvalidator.invalidate();
+    }
+
+    // Formatted output depends on the registries of the current
+    // world, so nothing cached may outlive them
+    public static void invalidate() {
+        CacheInvalidator.GENERATION.incrementAndGet();
+
+        ResultCache.clearAll();
+        Components.clearCache();
+    }
+
+    // Changes with every invalidation, so formatting which is still pending
+    // or running can tell that it was started with outdated registries
+    public static int getGeneration() {
+        return CacheInvalidator.GENERATION.get();
+    }
+}
@@ -34,6 +34,7 @@ import net.minecraft.registry.Registries;
 
 import dev.fixyl.componentviewer.control.notification.CopyToast;
 import dev.fixyl.componentviewer.formatting.Formatter;
+import dev.fixyl.componentviewer.formatting.Formatters;
 import dev.fixyl.componentviewer.formatting.FormattingException;
 import dev.fixyl.componentviewer.formatting.SnbtFormatter;
 
@@ -42,8 +43,8 @@ public class Clipboard {
 
     private final SnbtFormatter snbtFormatter;
 
-    public Clipboard() {
-        this.snbtFormatter = new SnbtFormatter();
+    public Clipboard(Formatters formatters) {
+        this.snbtFormatter = formatters.snbtFormatter;
     }
 
     public <T> void copyComponentValue(Component<T> component, Formatter formatter, int indentation, boolean successNotification) {
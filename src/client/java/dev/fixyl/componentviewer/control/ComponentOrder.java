@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.fixyl.componentviewer.control;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.component.Component;
+import net.minecraft.component.ComponentType;
+import net.minecraft.registry.Registries;
+
+public final class ComponentOrder {
+    private static final int UNKNOWN_RANK = -1;
+
+    // Component types which aren't part of the registry, but were displayed anyway
+    private static final List<ComponentType<?>> LATE_COMPONENT_TYPES = new ArrayList<>();
+
+    private static volatile Reference2IntMap<ComponentType<?>> ranks;
+
+    private ComponentOrder() {}
+
+    // Called once the client has started, as all component types are registered by then
+    public static void onClientStarted(MinecraftClient minecraftClient) {
+        synchronized (ComponentOrder.LATE_COMPONENT_TYPES) {
+            if (ComponentOrder.ranks == null) {
+                ComponentOrder.ranks = ComponentOrder.createRanks();
+            }
+        }
+    }
+
+    // Orders components by the string of their type, which is its
+    // identifier, without creating that string on every comparison
+    public static void sort(List<Component<?>> components) {
+        Reference2IntMap<ComponentType<?>> currentRanks = ComponentOrder.ranks;
+
+        for (Component<?> component : components) {
+            if (currentRanks == null || !currentRanks.containsKey(component.type())) {
+                currentRanks = ComponentOrder.addLateComponentType(component.type());
+            }
+        }
+
+        // Ranks are reassigned whenever a late component type is added, so the whole sort
+        // compares against the same ranks, which contain all of the sorted component types
+        Reference2IntMap<ComponentType<?>> sortRanks = currentRanks;
+        components.sort(Comparator.comparingInt(component -> sortRanks.getInt(component.type())));
+    }
+
+    private static Reference2IntMap<ComponentType<?>> addLateComponentType(ComponentType<?> componentType) {
+        synchronized (ComponentOrder.LATE_COMPONENT_TYPES) {
+            if (ComponentOrder.ranks == null) {
+                ComponentOrder.ranks = ComponentOrder.createRanks();
+            }
+
+            if (!ComponentOrder.ranks.containsKey(componentType)) {
+                ComponentOrder.LATE_COMPONENT_TYPES.add(componentType);
+                ComponentOrder.ranks = ComponentOrder.createRanks();
+            }
+
+            return ComponentOrder.ranks;
+        }
+    }
+
+    private static Reference2IntMap<ComponentType<?>> createRanks() {
+        List<ComponentType<?>> componentTypes = new ArrayList<>(Registries.DATA_COMPONENT_TYPE.size() + ComponentOrder.LATE_COMPONENT_TYPES.size());
+
+        for (ComponentType<?> componentType : Registries.DATA_COMPONENT_TYPE) {
+            componentTypes.add(componentType);
+        }
+
+        componentTypes.addAll(ComponentOrder.LATE_COMPONENT_TYPES);
+        componentTypes.sort(Comparator.comparing(ComponentType::toString));
+
+        Reference2IntMap<ComponentType<?>> newRanks = new Reference2IntOpenHashMap<>(componentTypes.size());
+        newRanks.defaultReturnValue(ComponentOrder.UNKNOWN_RANK);
+
+        for (int index = 0; index < componentTypes.size(); index++) {
+            newRanks.put(componentTypes.get(index), index);
+        }
+
+        return newRanks;
+    }
+}
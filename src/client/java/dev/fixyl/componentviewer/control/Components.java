@@ -24,14 +24,17 @@
 
 package dev.fixyl.componentviewer.control;
 
-import java.util.Comparator;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
 
 import net.minecraft.component.Component;
+import net.minecraft.component.ComponentChanges;
 import net.minecraft.component.ComponentMap;
 import net.minecraft.component.ComponentType;
 import net.minecraft.item.ItemStack;
@@ -40,23 +43,35 @@ import dev.fixyl.componentviewer.config.enums.TooltipComponents;
 import dev.fixyl.componentviewer.util.ResultCache;
 
 public class Components {
-    private static final Comparator<Component<?>> COMPARATOR = Comparator.comparing(component -> component.type().toString());
-    private static final ResultCache<Components> COMPONENTS_CACHE = new ResultCache<>();
+    // ItemStack doesn't override equals() and hashCode(), so this
+    // is an identity cache which doesn't keep item stacks alive
+    private static final Map<ItemStack, CachedComponents> COMPONENTS_CACHE = new WeakHashMap<>();
+
+    // Different item stacks with the same content share their views, as
+    // the default components only depend on the item, and the rest on the changes
+    private static final ResultCache<Map<TooltipComponents, Components>> CONTENT_CACHE = new ResultCache<>(64);
 
     private final TooltipComponents componentsType;
     private final List<Component<?>> componentsList;
     private final int startOfRemovedComponents;
 
-    private Components(TooltipComponents componentsType, Set<Component<?>> regularComponents, Set<Component<?>> removedComponents) {
+    private Components(TooltipComponents componentsType, List<Component<?>> regularComponents, List<Component<?>> removedComponents) {
         this.componentsType = componentsType;
 
-        this.componentsList = Stream.concat(regularComponents.stream().sorted(Components.COMPARATOR), removedComponents.stream().sorted(Components.COMPARATOR)).toList();
+        List<Component<?>> sortedComponents = new ArrayList<>(regularComponents.size() + removedComponents.size());
+        sortedComponents.addAll(regularComponents);
+        sortedComponents.addAll(removedComponents);
+
+        ComponentOrder.sort(sortedComponents.subList(0, regularComponents.size()));
+        ComponentOrder.sort(sortedComponents.subList(regularComponents.size(), sortedComponents.size()));
+
+        this.componentsList = Collections.unmodifiableList(sortedComponents);
 
         this.startOfRemovedComponents = regularComponents.size();
     }
 
-    private Components(TooltipComponents componentsType, Set<Component<?>> regularComponents) {
-        this(componentsType, regularComponents, new HashSet<>());
+    private Components(TooltipComponents componentsType, List<Component<?>> regularComponents) {
+        this(componentsType, regularComponents, Collections.emptyList());
     }
 
     public TooltipComponents componentsType() {
@@ -84,44 +99,106 @@ public class Components {
     }
 
     public static Components getAllComponents(ItemStack itemStack) {
-        return Components.COMPONENTS_CACHE.cache(() -> {
-            Set<Component<?>> regularComponents = Components.createComponentSet(itemStack.getComponents());
+        return Components.getCachedComponents(itemStack, TooltipComponents.ALL, () -> {
+            List<Component<?>> regularComponents = Components.createComponentList(itemStack.getComponents());
 
             return new Components(TooltipComponents.ALL, regularComponents);
-        }, itemStack, TooltipComponents.ALL);
+        });
     }
 
     public static Components getDefaultComponents(ItemStack itemStack) {
-        return Components.COMPONENTS_CACHE.cache(() -> {
-            Set<Component<?>> defaultComponents = Components.createComponentSet(itemStack.getDefaultComponents());
+        return Components.getCachedComponents(itemStack, TooltipComponents.DEFAULT, () -> {
+            List<Component<?>> defaultComponents = Components.createComponentList(itemStack.getDefaultComponents());
 
             return new Components(TooltipComponents.DEFAULT, defaultComponents);
-        }, itemStack, TooltipComponents.DEFAULT);
+        });
     }
 
     public static Components getChangedComponents(ItemStack itemStack) {
-        return Components.COMPONENTS_CACHE.cache(() -> {
-            Set<Component<?>> regularComponents = Components.createComponentSet(itemStack.getComponents());
-            Set<Component<?>> defaultComponents = Components.createComponentSet(itemStack.getDefaultComponents());
+        return Components.getCachedComponents(itemStack, TooltipComponents.CHANGES, () -> {
+            ComponentMap defaultComponents = itemStack.getDefaultComponents();
+
+            List<Component<?>> changedComponents = new ArrayList<>();
+            List<Component<?>> removedComponents = new ArrayList<>();
+
+            // The changes are the delta to the default components, so a single
+            // pass over them is enough to find everything which differs
+            for (Map.Entry<ComponentType<?>, Optional<?>> change : itemStack.getComponentChanges().entrySet()) {
+                ComponentType<?> componentType = change.getKey();
+                Object defaultValue = defaultComponents.get(componentType);
+
+                if (change.getValue().isPresent()) {
+                    Object value = change.getValue().get();
+
+                    // Changes which set a component to its default value don't differ
+                    if (!value.equals(defaultValue)) {
+                        changedComponents.add(Component.of(componentType, value));
+                    }
+                } else if (defaultValue != null) {
+                    // Removing a component which isn't there by default has no effect
+                    removedComponents.add(Component.of(componentType, defaultValue));
+                }
+            }
+
+            return new Components(TooltipComponents.CHANGES, changedComponents, removedComponents);
+        });
+    }
+
+    public static void clearCache() {
+        synchronized (Components.COMPONENTS_CACHE) {
+            Components.COMPONENTS_CACHE.clear();
+            Components.CONTENT_CACHE.clear();
+        }
+    }
 
-            Set<Component<?>> changedComponents = new HashSet<>(regularComponents);
-            changedComponents.removeAll(defaultComponents);
+    private static Components getCachedComponents(ItemStack itemStack, TooltipComponents componentsType, Supplier<Components> componentsSupplier) {
+        ComponentChanges componentChanges = itemStack.getComponentChanges();
+        CachedComponents cachedComponents;
+
+        // Views are also created by the screen warmup in the background
+        synchronized (Components.COMPONENTS_CACHE) {
+            cachedComponents = Components.COMPONENTS_CACHE.get(itemStack);
+
+            // The item stack is mutable, so all of its cached views are dropped as soon as
+            // its components change. Each entry keeps the changes of its own item stack,
+            // which share their backing map with the current ones until the stack is
+            // modified, so the comparison is an identity check as long as nothing changed.
+            if (cachedComponents == null || !cachedComponents.componentChanges().equals(componentChanges)) {
+                cachedComponents = new CachedComponents(componentChanges, Components.CONTENT_CACHE.cache(
+                    () -> new EnumMap<>(TooltipComponents.class),
+                    itemStack.getItem(), componentChanges
+                ));
+                Components.COMPONENTS_CACHE.put(itemStack, cachedComponents);
+            }
+
+            Components components = cachedComponents.componentsViews().get(componentsType);
+
+            if (components != null) {
+                return components;
+            }
+        }
 
-            Set<Component<?>> removedComponents = new HashSet<>(defaultComponents);
-            Set<ComponentType<?>> componentTypes = regularComponents.stream().map(Component::type).collect(Collectors.toSet());
-            removedComponents.removeIf(defaultComponent -> componentTypes.contains(defaultComponent.type()));
+        // Building and sorting a view takes a while, so it is done outside of the lock
+        // to keep the warmup thread from blocking the render thread, and only published
+        // afterwards. If both build the same view, the one published first is kept.
+        Components components = componentsSupplier.get();
 
-            return new Components(TooltipComponents.CHANGES, changedComponents, removedComponents);
-        }, itemStack, TooltipComponents.CHANGES);
+        synchronized (Components.COMPONENTS_CACHE) {
+            Components publishedComponents = cachedComponents.componentsViews().putIfAbsent(componentsType, components);
+
+            return (publishedComponents == null) ? components : publishedComponents;
+        }
     }
 
-    private static Set<Component<?>> createComponentSet(ComponentMap componentMap) {
-        Set<Component<?>> componentSet = new HashSet<>();
+    private static List<Component<?>> createComponentList(ComponentMap componentMap) {
+        List<Component<?>> componentList = new ArrayList<>(componentMap.size());
 
         for (Component<?> component : componentMap) {
-            componentSet.add(component);
+            componentList.add(component);
         }
 
-        return componentSet;
+        return componentList;
     }
+
+    private static record CachedComponents(ComponentChanges componentChanges, Map<TooltipComponents, Components> componentsViews) {}
 }
@@ -24,24 +24,40 @@
 
 package dev.fixyl.componentviewer.control;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.screen.Screen;
+import net.minecraft.client.gui.screen.ingame.HandledScreen;
 import net.minecraft.component.Component;
 import net.minecraft.component.type.NbtComponent;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.tooltip.TooltipType;
+import net.minecraft.text.Text;
 
 import org.jetbrains.annotations.Nullable;
 
 import dev.fixyl.componentviewer.config.Configs;
 import dev.fixyl.componentviewer.config.enums.ClipboardCopy;
+import dev.fixyl.componentviewer.config.enums.TooltipComponents;
 import dev.fixyl.componentviewer.config.enums.TooltipDisplay;
+import dev.fixyl.componentviewer.config.enums.TooltipFormatting;
 import dev.fixyl.componentviewer.config.enums.TooltipPurpose;
+import dev.fixyl.componentviewer.config.enums.TooltipScheduling;
 import dev.fixyl.componentviewer.formatting.Formatter;
-import dev.fixyl.componentviewer.formatting.JsonFormatter;
-import dev.fixyl.componentviewer.formatting.ObjectFormatter;
-import dev.fixyl.componentviewer.formatting.SnbtFormatter;
+import dev.fixyl.componentviewer.formatting.Formatters;
+import dev.fixyl.componentviewer.formatting.IncrementalFormatting;
+import dev.fixyl.componentviewer.formatting.ParallelFormatting;
+import dev.fixyl.componentviewer.util.Fingerprints;
 
 public final class ControlFlow {
+    private static final int PARALLEL_THRESHOLD_UNIT = 1000;
+
     private final Configs configs;
 
     private final StateManager stateManager;
@@ -51,18 +67,32 @@ public final class ControlFlow {
     private final Formatter jsonFormatter;
     private final Formatter objectFormatter;
 
-    public ControlFlow(Configs configs) {
+    private final AsyncFormatter asyncFormatter;
+    private final IncrementalFormatter incrementalFormatter;
+    private final ScreenWarmup screenWarmup;
+    private final Prefetcher prefetcher;
+    private final TooltipCache tooltipCache;
+
+    public ControlFlow(Configs configs, Formatters formatters) {
         this.configs = configs;
 
         this.stateManager = new StateManager();
-        this.clipboard = new Clipboard();
+        this.clipboard = new Clipboard(formatters);
+
+        this.snbtFormatter = formatters.snbtFormatter;
+        this.jsonFormatter = formatters.jsonFormatter;
+        this.objectFormatter = formatters.objectFormatter;
 
-        this.snbtFormatter = new SnbtFormatter();
-        this.jsonFormatter = new JsonFormatter();
-        this.objectFormatter = new ObjectFormatter();
+        this.asyncFormatter = new AsyncFormatter();
+        this.incrementalFormatter = new IncrementalFormatter();
+        this.screenWarmup = new ScreenWarmup();
+        this.prefetcher = new Prefetcher();
+        this.tooltipCache = new TooltipCache();
     }
 
     public void onTooltip(ItemStack itemStack, Tooltip tooltip, TooltipType tooltipType) {
+        this.updateParallelThreshold();
+
         boolean shouldPerformCopyAction = this.stateManager.shouldPerformCopyAction();
 
         if (shouldPerformCopyAction) {
@@ -79,15 +109,101 @@ public final class ControlFlow {
             return;
         }
 
+        TooltipPurpose tooltipPurpose = this.configs.tooltipPurpose.getValue();
+
+        // The selection has to be cycled every frame, as it depends on the keys pressed
+        int selectedComponentIndex = (tooltipPurpose == TooltipPurpose.COMPONENTS) ? this.stateManager.cycleSelectedComponentIndex(this.getComponents(itemStack).size()) : -1;
+
+        Object[] tooltipArguments = this.createTooltipArguments(tooltip, tooltipPurpose, selectedComponentIndex);
+
+        // Copy actions are performed while adding the lines, so they can't be skipped then
+        List<Text> cachedLines = (shouldPerformCopyAction) ? null : this.tooltipCache.get(itemStack, tooltipArguments);
+        if (cachedLines != null) {
+            tooltip.addLines(cachedLines);
+            return;
+        }
+
+        List<Text> lines = new ArrayList<>();
+        Tooltip linesTooltip = new Tooltip(lines);
+
         if (!tooltip.isEmpty()) {
-            tooltip.addSpacer();
+            linesTooltip.addSpacer();
         }
 
-        if (this.configs.tooltipPurpose.getValue() == TooltipPurpose.COMPONENTS) {
-            this.handleComponentPurpose(itemStack, tooltip, shouldPerformCopyAction);
+        if (tooltipPurpose == TooltipPurpose.COMPONENTS) {
+            this.handleComponentPurpose(itemStack, linesTooltip, selectedComponentIndex, shouldPerformCopyAction);
         } else {
-            this.handleItemStackPurpose(itemStack, tooltip);
+            this.handleItemStackPurpose(itemStack, linesTooltip);
+        }
+
+        tooltip.addLines(lines);
+
+        // Lines which are still being formatted will change in one of the next frames
+        if (!linesTooltip.isInProgress() && !(this.configs.tooltipScheduling.getValue() == TooltipScheduling.INCREMENTAL && this.incrementalFormatter.isPending())) {
+            this.tooltipCache.put(Collections.unmodifiableList(lines), itemStack, tooltipArguments);
+        }
+    }
+
+    public void onClientTick(MinecraftClient minecraftClient) {
+        if (!(minecraftClient.currentScreen instanceof HandledScreen<?> handledScreen) || !this.configs.tooltipWarmup.getBooleanValue() || this.configs.tooltipDisplay.getValue() == TooltipDisplay.NEVER) {
+            this.screenWarmup.cancel();
+            return;
+        }
+
+        this.updateParallelThreshold();
+        this.screenWarmup.warmUp(handledScreen.getScreenHandler(), this::createWarmupTask);
+    }
+
+    // Everything the added lines depend on, besides the item stack itself
+    private Object[] createTooltipArguments(Tooltip tooltip, TooltipPurpose tooltipPurpose, int selectedComponentIndex) {
+        return new Object[] {
+            tooltip.isEmpty(),
+            tooltipPurpose,
+            selectedComponentIndex,
+            this.configs.tooltipComponents.getValue(),
+            this.configs.tooltipComponentValues.getBooleanValue(),
+            this.configs.tooltipSelectionWindow.getIntValue(),
+            this.configs.tooltipFormatting.getValue(),
+            this.getTooltipIndentation(),
+            this.configs.tooltipColoredFormatting.getBooleanValue(),
+            this.configs.tooltipScheduling.getValue(),
+            MinecraftClient.getInstance().getLanguageManager().getLanguage()
+        };
+    }
+
+    private void updateParallelThreshold() {
+        ParallelFormatting.setThreshold(this.configs.tooltipParallelThreshold.getIntValue() * ControlFlow.PARALLEL_THRESHOLD_UNIT);
+    }
+
+    // The warmup formats the same thing hovering the item stack would, with the
+    // current configs, so the tooltip afterwards only hits the filled caches
+    private Runnable createWarmupTask(ItemStack itemStack) {
+        TooltipFormatting tooltipFormatting = this.configs.tooltipFormatting.getValue();
+        int indentation = this.getTooltipIndentation();
+        boolean colored = this.configs.tooltipColoredFormatting.getBooleanValue();
+
+        if (this.configs.tooltipPurpose.getValue() == TooltipPurpose.ITEM_STACK) {
+            Formatter formatter = this.getTooltipFormatter(tooltipFormatting, null);
+
+            return () -> formatter.itemStackToText(itemStack, indentation, colored, Tooltip.CONTENT_INDENTATION);
         }
+
+        TooltipComponents tooltipComponents = this.configs.tooltipComponents.getValue();
+        boolean tooltipComponentValues = this.configs.tooltipComponentValues.getBooleanValue();
+        int selectedComponentIndex = this.stateManager.getSelectedComponentIndex();
+
+        return () -> {
+            Components components = ControlFlow.getComponents(itemStack, tooltipComponents);
+
+            if (components.isEmpty() || !tooltipComponentValues) {
+                return;
+            }
+
+            Component<?> selectedComponent = components.get((selectedComponentIndex < components.size()) ? selectedComponentIndex : 0);
+            Formatter formatter = this.getTooltipFormatter(tooltipFormatting, selectedComponent);
+
+            formatter.componentToText(selectedComponent, indentation, colored, Tooltip.CONTENT_INDENTATION);
+        };
     }
 
     private boolean shouldDisplayToolip(TooltipType tooltipType) {
@@ -99,38 +215,124 @@ public final class ControlFlow {
         return tooltipType.isAdvanced() || !this.configs.tooltipAdvancedTooltips.getBooleanValue();
     }
 
-    private void handleComponentPurpose(ItemStack itemStack, Tooltip tooltip, boolean shouldPerformCopyAction) {
+    private void handleComponentPurpose(ItemStack itemStack, Tooltip tooltip, int selectedComponentIndex, boolean shouldPerformCopyAction) {
         Components components = this.getComponents(itemStack);
-        int selectedComponentIndex = this.stateManager.cycleSelectedComponentIndex(components.size());
         boolean tooltipComponentValues = this.configs.tooltipComponentValues.getBooleanValue();
 
-        tooltip.addComponentSelection(components, (tooltipComponentValues) ? selectedComponentIndex : -1);
+        tooltip.addComponentSelection(components, selectedComponentIndex, tooltipComponentValues, this.configs.tooltipSelectionWindow.getIntValue());
 
         if (components.isEmpty() || !tooltipComponentValues) {
             return;
         }
 
         Component<?> selectedComponent = components.get(selectedComponentIndex);
+        Formatter formatter = this.getTooltipFormatter(selectedComponent);
+        int indentation = this.getTooltipIndentation();
+        boolean colored = this.configs.tooltipColoredFormatting.getBooleanValue();
 
-        tooltip.addSpacer().addComponentValue(
-            selectedComponent,
-            this.getTooltipFormatter(selectedComponent),
-            this.getTooltipIndentation(),
-            this.configs.tooltipColoredFormatting.getBooleanValue()
-        );
+        tooltip.addSpacer().addComponentValue(linePrefix -> this.scheduleTooltipFormatting(
+            () -> formatter.componentToText(selectedComponent, indentation, colored, linePrefix),
+            () -> formatter.componentToIncrementalText(selectedComponent, indentation, colored, linePrefix),
+            formatter, selectedComponent, indentation, colored, linePrefix
+        ));
+
+        this.prefetchComponentValues(components, selectedComponentIndex, indentation, colored);
 
         if (shouldPerformCopyAction && this.configs.clipboardCopy.getValue() == ClipboardCopy.COMPONENT_VALUE) {
             this.copyComponentValue(selectedComponent);
         }
     }
 
+    // Cycling only ever moves the selection by one, so the values of both
+    // neighbouring components are formatted ahead of time, followed by the
+    // selected value in the formatting the keybind would cycle to next
+    private void prefetchComponentValues(Components components, int selectedComponentIndex, int indentation, boolean colored) {
+        if (!this.configs.tooltipPrefetching.getBooleanValue()) {
+            return;
+        }
+
+        TooltipFormatting tooltipFormatting = this.configs.tooltipFormatting.getValue();
+
+        this.prefetcher.prefetch(() -> {
+            List<Runnable> prefetchTasks = new ArrayList<>();
+            int numberOfComponents = components.size();
+
+            if (numberOfComponents > 1) {
+                prefetchTasks.add(this.createPrefetchTask(tooltipFormatting, components.get((selectedComponentIndex + 1) % numberOfComponents), indentation, colored));
+            }
+
+            if (numberOfComponents > 2) {
+                prefetchTasks.add(this.createPrefetchTask(tooltipFormatting, components.get((selectedComponentIndex + numberOfComponents - 1) % numberOfComponents), indentation, colored));
+            }
+
+            this.createNextFormattingPrefetchTask(components.get(selectedComponentIndex), indentation, colored).ifPresent(prefetchTasks::add);
+
+            return prefetchTasks;
+        }, components, selectedComponentIndex, tooltipFormatting, indentation, colored);
+    }
+
+    private void prefetchItemStack(ItemStack itemStack, int indentation, boolean colored) {
+        if (!this.configs.tooltipPrefetching.getBooleanValue()) {
+            return;
+        }
+
+        this.prefetcher.prefetch(() -> {
+            Formatter formatter = this.getTooltipFormatter();
+            Formatter nextFormatter = this.getTooltipFormatter(this.configs.tooltipFormatting.getNextValue(), null);
+
+            if (nextFormatter == formatter) {
+                return List.of();
+            }
+
+            // Item stacks are mutable, so a copy is formatted in the background
+            ItemStack prefetchedItemStack = itemStack.copy();
+
+            return List.of(() -> nextFormatter.itemStackToText(prefetchedItemStack, indentation, colored, Tooltip.CONTENT_INDENTATION));
+        }, Fingerprints.of(itemStack), this.configs.tooltipFormatting.getValue(), indentation, colored);
+    }
+
+    private <T> Runnable createPrefetchTask(TooltipFormatting tooltipFormatting, Component<T> component, int indentation, boolean colored) {
+        Formatter formatter = this.getTooltipFormatter(tooltipFormatting, component);
+
+        return () -> formatter.componentToText(component, indentation, colored, Tooltip.CONTENT_INDENTATION);
+    }
+
+    private <T> Optional<Runnable> createNextFormattingPrefetchTask(Component<T> component, int indentation, boolean colored) {
+        TooltipFormatting nextTooltipFormatting = this.configs.tooltipFormatting.getNextValue();
+
+        // Nbt components are formatted as SNBT either way when using object formatting
+        if (this.getTooltipFormatter(nextTooltipFormatting, component) == this.getTooltipFormatter(component)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(this.createPrefetchTask(nextTooltipFormatting, component, indentation, colored));
+    }
+
     private void handleItemStackPurpose(ItemStack itemStack, Tooltip tooltip) {
-        tooltip.addItemStack(
-            itemStack,
-            this.getTooltipFormatter(),
-            this.configs.tooltipIndentation.getIntValue(),
-            this.configs.tooltipColoredFormatting.getBooleanValue()
-        );
+        Formatter formatter = this.getTooltipFormatter();
+        int indentation = this.getTooltipIndentation();
+        boolean colored = this.configs.tooltipColoredFormatting.getBooleanValue();
+
+        // Item stacks are mutable, so a copy is formatted if the formatting isn't done right away.
+        // Async formatting reads it on another thread, and incremental formatting over several
+        // frames, while the result is cached under the fingerprint of the item stack from now.
+        ItemStack formattedItemStack = (this.configs.tooltipScheduling.getValue() != TooltipScheduling.SYNC) ? itemStack.copy() : itemStack;
+
+        tooltip.addItemStack(linePrefix -> this.scheduleTooltipFormatting(
+            () -> formatter.itemStackToText(formattedItemStack, indentation, colored, linePrefix),
+            () -> formatter.itemStackToIncrementalText(formattedItemStack, indentation, colored, linePrefix),
+            formatter, Fingerprints.of(itemStack), indentation, colored, linePrefix
+        ));
+
+        this.prefetchItemStack(itemStack, indentation, colored);
+    }
+
+    private @Nullable List<Text> scheduleTooltipFormatting(Supplier<List<Text>> formatting, Supplier<IncrementalFormatting> incrementalFormatting, Object... arguments) {
+        return switch (this.configs.tooltipScheduling.getValue()) {
+            case SYNC -> formatting.get();
+            case ASYNC -> this.asyncFormatter.format(formatting, arguments);
+            case INCREMENTAL -> this.incrementalFormatter.format(incrementalFormatting, TimeUnit.MICROSECONDS.toNanos(this.configs.tooltipFrameBudget.getIntValue()), arguments);
+        };
     }
 
     private <T> void copyComponentValue(Component<T> component) {
@@ -161,7 +363,11 @@ public final class ControlFlow {
     }
 
     private Components getComponents(ItemStack itemStack) {
-        return switch (this.configs.tooltipComponents.getValue()) {
+        return ControlFlow.getComponents(itemStack, this.configs.tooltipComponents.getValue());
+    }
+
+    private static Components getComponents(ItemStack itemStack, TooltipComponents tooltipComponents) {
+        return switch (tooltipComponents) {
             case ALL -> Components.getAllComponents(itemStack);
             case DEFAULT -> Components.getDefaultComponents(itemStack);
             case CHANGES -> Components.getChangedComponents(itemStack);
@@ -173,7 +379,11 @@ public final class ControlFlow {
     }
 
     private <T> Formatter getTooltipFormatter(@Nullable Component<T> component) {
-        return switch (this.configs.tooltipFormatting.getValue()) {
+        return this.getTooltipFormatter(this.configs.tooltipFormatting.getValue(), component);
+    }
+
+    private <T> Formatter getTooltipFormatter(TooltipFormatting tooltipFormatting, @Nullable Component<T> component) {
+        return switch (tooltipFormatting) {
             case SNBT -> this.snbtFormatter;
             case JSON -> this.jsonFormatter;
             case OBJECT -> (component != null && component.value() instanceof NbtComponent) ? this.snbtFormatter : this.objectFormatter;
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.fixyl.componentviewer.control;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import net.minecraft.text.Text;
+
+import dev.fixyl.componentviewer.formatting.IncrementalFormatting;
+import dev.fixyl.componentviewer.util.ResultCache;
+
+public final class IncrementalFormatter {
+    private static final int COMPLETED_RESULTS_CAPACITY = 16;
+
+    private final ResultCache<List<Text>> completedResults;
+
+    private List<Object> pendingKey;
+    private int pendingGeneration;
+    private IncrementalFormatting pendingFormatting;
+
+    public IncrementalFormatter() {
+        this.completedResults = new ResultCache<>(IncrementalFormatter.COMPLETED_RESULTS_CAPACITY);
+    }
+
+    // Must only be called from the render thread. Advances the formatting by at most
+    // the budget and returns the lines formatted so far, followed by a progress line
+    // as long as the formatting hasn't finished yet.
+    public List<Text> format(Supplier<IncrementalFormatting> formatting, long budgetNanos, Object... arguments) {
+        List<Text> completedResult = this.completedResults.get(arguments);
+        if (completedResult != null) {
+            return completedResult;
+        }
+
+        List<Object> key = Arrays.asList(arguments);
+        int generation = CacheInvalidator.getGeneration();
+
+        // Formatting of stacks or components which aren't displayed anymore,
+        // or which was started before the caches got invalidated, is dropped
+        if (!key.equals(this.pendingKey) || generation != this.pendingGeneration) {
+            this.pendingKey = key;
+            this.pendingGeneration = generation;
+            this.pendingFormatting = formatting.get();
+        }
+
+        if (!this.pendingFormatting.advance(budgetNanos)) {
+            List<Text> partialResult = new ArrayList<>(this.pendingFormatting.getLines());
+            partialResult.add(Tooltip.createFormattingProgressLine(this.pendingFormatting.getProgress()));
+
+            return partialResult;
+        }
+
+        List<Text> result = this.pendingFormatting.getLines();
+        this.completedResults.put(result, arguments);
+
+        this.pendingKey = null;
+        this.pendingFormatting = null;
+
+        return result;
+    }
+
+    // Whether the most recent formatting has only been partially returned
+    public boolean isPending() {
+        return this.pendingFormatting != null;
+    }
+}
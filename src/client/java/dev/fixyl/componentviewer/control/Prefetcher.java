@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.fixyl.componentviewer.control;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+public final class Prefetcher {
+    private static final String THREAD_NAME = "ComponentViewer Prefetcher";
+    // Prefetching is speculative, so the tasks of one hovered
+    // stack or component only get a small budget of time
+    private static final long BUDGET_NANOS = 100_000_000L;
+
+    private final ExecutorService executorService;
+
+    private List<Object> prefetchedKey;
+    private Future<?> pendingJob;
+
+    public Prefetcher() {
+        this.executorService = BackgroundTasks.createExecutor(Prefetcher.THREAD_NAME);
+    }
+
+    // Must only be called from the render thread. The tasks are only created
+    // and submitted if the arguments differ from the ones of the last call.
+    public void prefetch(Supplier<List<Runnable>> tasks, Object... arguments) {
+        List<Object> key = Arrays.asList(arguments);
+
+        if (key.equals(this.prefetchedKey)) {
+            return;
+        }
+
+        // Tasks for stacks or components which aren't
+        // displayed anymore would only be wasted work
+        if (this.pendingJob != null) {
+            this.pendingJob.cancel(true);
+        }
+
+        List<Runnable> prefetchTasks = tasks.get();
+
+        this.prefetchedKey = key;
+        this.pendingJob = this.executorService.submit(() -> BackgroundTasks.runWithBudget(prefetchTasks, Prefetcher.BUDGET_NANOS));
+    }
+}
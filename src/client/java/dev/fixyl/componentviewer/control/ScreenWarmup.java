@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.fixyl.componentviewer.control;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.screen.ScreenHandler;
+
+import org.jetbrains.annotations.Nullable;
+
+import dev.fixyl.componentviewer.util.Fingerprints;
+
+public final class ScreenWarmup {
+    private static final String THREAD_NAME = "ComponentViewer Warmup";
+    private static final long BUDGET_NANOS = 250_000_000L;
+    private static final int MAX_WARMED_UP_ITEM_STACKS = 1024;
+
+    private final ExecutorService executorService;
+    private final List<Future<?>> pendingJobs;
+
+    private @Nullable ScreenHandler screenHandler;
+    private ItemStack[] scannedItemStacks;
+    private final Set<Object> warmedUpItemStacks;
+
+    // Shared by all tasks of a screen and used up by the warmup thread,
+    // every screen gets a new one so old tasks can't use up its budget
+    private AtomicLong remainingBudgetNanos;
+
+    public ScreenWarmup() {
+        this.executorService = BackgroundTasks.createExecutor(ScreenWarmup.THREAD_NAME);
+        this.pendingJobs = new ArrayList<>();
+
+        this.screenHandler = null;
+        this.scannedItemStacks = new ItemStack[0];
+        this.warmedUpItemStacks = new HashSet<>();
+        this.remainingBudgetNanos = new AtomicLong(ScreenWarmup.BUDGET_NANOS);
+    }
+
+    // Must only be called from the render thread, once per tick while the screen is open.
+    // The contents of a container arrive after its screen has been opened and may change
+    // at any time, so every tick the slots are scanned again. Only slots holding another
+    // item stack than before are looked at, and only item stacks with content which hasn't
+    // been warmed up for this screen yet get a task. All tasks of a screen share one budget
+    // and a limited number of item stacks, after which nothing is warmed up anymore.
+    public void warmUp(ScreenHandler screenHandler, Function<ItemStack, Runnable> taskFactory) {
+        // Resizing reinitializes the screen, but keeps its handler and therefore its progress
+        if (screenHandler != this.screenHandler) {
+            this.cancel();
+            this.screenHandler = screenHandler;
+        }
+
+        if (this.remainingBudgetNanos.get() <= 0 || this.warmedUpItemStacks.size() >= ScreenWarmup.MAX_WARMED_UP_ITEM_STACKS) {
+            return;
+        }
+
+        int numberOfSlots = screenHandler.slots.size();
+
+        if (this.scannedItemStacks.length != numberOfSlots) {
+            this.scannedItemStacks = Arrays.copyOf(this.scannedItemStacks, numberOfSlots);
+        }
+
+        List<Runnable> tasks = new ArrayList<>();
+
+        for (int index = 0; index < numberOfSlots; index++) {
+            ItemStack itemStack = screenHandler.slots.get(index).getStack();
+
+            // Received slot contents always replace the item stacks
+            if (itemStack == this.scannedItemStacks[index]) {
+                continue;
+            }
+
+            this.scannedItemStacks[index] = itemStack;
+
+            if (!itemStack.isEmpty() && this.warmedUpItemStacks.size() < ScreenWarmup.MAX_WARMED_UP_ITEM_STACKS && this.warmedUpItemStacks.add(Fingerprints.of(itemStack))) {
+                // Item stacks are mutable, so copies are formatted in the background
+                tasks.add(taskFactory.apply(itemStack.copy()));
+            }
+        }
+
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        AtomicLong remainingBudget = this.remainingBudgetNanos;
+
+        this.pendingJobs.removeIf(Future::isDone);
+        this.pendingJobs.add(this.executorService.submit(() -> {
+            long budgetNanos = remainingBudget.get();
+
+            if (budgetNanos > 0) {
+                remainingBudget.addAndGet(-BackgroundTasks.runWithBudget(tasks, budgetNanos));
+            }
+        }));
+    }
+
+    public void cancel() {
+        if (this.screenHandler == null) {
+            return;
+        }
+
+        for (Future<?> pendingJob : this.pendingJobs) {
+            pendingJob.cancel(true);
+        }
+
+        this.pendingJobs.clear();
+
+        this.screenHandler = null;
+        this.scannedItemStacks = new ItemStack[0];
+        this.warmedUpItemStacks.clear();
+        this.remainingBudgetNanos = new AtomicLong(ScreenWarmup.BUDGET_NANOS);
+    }
+}
@@ -37,6 +37,10 @@ public final class StateManager {
         this.previousCopyAction = false;
     }
 
+    public int getSelectedComponentIndex() {
+        return this.selectedComponentIndex;
+    }
+
     public int cycleSelectedComponentIndex(int numberOfComponents) {
         int newComponentIndex = this.getIndexBasedOnKeysPressed(numberOfComponents);
 
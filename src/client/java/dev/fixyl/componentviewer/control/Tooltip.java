@@ -24,18 +24,18 @@
 
 package dev.fixyl.componentviewer.control;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
-import net.minecraft.component.Component;
-import net.minecraft.item.ItemStack;
+import net.minecraft.component.ComponentType;
 import net.minecraft.text.MutableText;
 import net.minecraft.text.Style;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 
 import dev.fixyl.componentviewer.config.enums.TooltipComponents;
-import dev.fixyl.componentviewer.formatting.Formatter;
 import dev.fixyl.componentviewer.formatting.FormattingException;
 
 public class Tooltip {
@@ -46,8 +46,18 @@ public class Tooltip {
     private static final Style REMOVED_COMPONENT_STYLE = Style.EMPTY.withStrikethrough(true);
 
     private static final Style ERROR_STYLE = Style.EMPTY.withColor(Formatting.RED);
+    private static final Style IN_PROGRESS_STYLE = Style.EMPTY.withColor(Formatting.DARK_GRAY);
 
-    private static final String CONTENT_INDENTATION = " ";
+    static final String CONTENT_INDENTATION = " ";
+
+    private static final int SELECTED_VARIANT = 1;
+    private static final int REMOVED_VARIANT = 2;
+    private static final int DOUBLE_INDENTATION_VARIANT = 4;
+    private static final int NUMBER_OF_VARIANTS = 8;
+
+    // Selection lines only depend on their component type, so each variant
+    // is created once and shared by all tooltips. Only used by the render thread.
+    private static final Map<ComponentType<?>, Text[]> COMPONENT_SELECTION_LINES = new HashMap<>();
 
     private static final Map<TooltipComponents, String> COMPONENT_SELECTION_TRANSLATION_KEYS = Map.of(
         TooltipComponents.ALL, "componentviewer.tooltip.purpose.components.selection.all",
@@ -63,8 +73,11 @@ public class Tooltip {
 
     private final List<Text> lines;
 
+    private boolean inProgress;
+
     public Tooltip(List<Text> lines) {
         this.lines = lines;
+        this.inProgress = false;
     }
 
     public int size() {
@@ -75,6 +88,17 @@ public class Tooltip {
         return this.lines.isEmpty();
     }
 
+    // Whether a placeholder was added, as the formatted lines weren't ready yet
+    public boolean isInProgress() {
+        return this.inProgress;
+    }
+
+    public Tooltip addLines(List<Text> lines) {
+        this.lines.addAll(lines);
+
+        return this;
+    }
+
     public Tooltip addSpacer() {
         this.lines.add(Text.empty());
 
@@ -87,7 +111,9 @@ public class Tooltip {
         return this;
     }
 
-    public Tooltip addComponentSelection(Components components, int indexOfSelected) {
+    // Only the components within the window radius around the selected component are
+    // added, with a window radius of zero adding all of them
+    public Tooltip addComponentSelection(Components components, int indexOfSelected, boolean highlightSelected, int windowRadius) {
         if (components.isEmpty()) {
             this.addHeader(Tooltip.EMPTY_COMPONENT_SELECTION_TRANSLATION_KEYS.get(components.componentsType()));
             return this;
@@ -96,48 +122,103 @@ public class Tooltip {
         this.addHeader(Tooltip.COMPONENT_SELECTION_TRANSLATION_KEYS.get(components.componentsType()));
 
         // Double the indentation if more than one component needs to be displayed
-        String indentationOfSelected = Tooltip.CONTENT_INDENTATION.repeat(Math.min(components.size(), 2));
+        boolean doubleIndentation = components.size() > 1;
 
-        // Add all component types
-        for (int index = 0; index < components.size(); index++) {
-            MutableText componentTypeText = Text.literal(components.get(index).type().toString()).fillStyle(Tooltip.COMPONENT_STYLE);
+        int windowStart = 0;
+        int windowEnd = components.size();
 
-            if (index == indexOfSelected) {
-                componentTypeText.fillStyle(Tooltip.SELECTED_COMPONENT_STYLE);
-            }
+        // The window keeps its size at both ends of the list
+        if (windowRadius > 0 && components.size() > 2 * windowRadius + 1) {
+            windowStart = Math.clamp(indexOfSelected - windowRadius, 0, components.size() - (2 * windowRadius + 1));
+            windowEnd = windowStart + 2 * windowRadius + 1;
+        }
 
-            if (components.isRemovedComponent(index)) {
-                componentTypeText.fillStyle(Tooltip.REMOVED_COMPONENT_STYLE);
-            }
+        if (windowStart > 0) {
+            this.addComponentSelectionMarker("componentviewer.tooltip.purpose.components.selection.more_above", windowStart);
+        }
+
+        // Add the component types within the window
+        for (int index = windowStart; index < windowEnd; index++) {
+            boolean selected = highlightSelected && index == indexOfSelected;
 
-            this.lines.add(Text.literal((index == indexOfSelected) ? indentationOfSelected : Tooltip.CONTENT_INDENTATION).append(componentTypeText));
+            this.lines.add(Tooltip.getComponentSelectionLine(components.get(index).type(), selected, components.isRemovedComponent(index), doubleIndentation));
+        }
+
+        if (windowEnd < components.size()) {
+            this.addComponentSelectionMarker("componentviewer.tooltip.purpose.components.selection.more_below", components.size() - windowEnd);
         }
 
         return this;
     }
 
-    public <T> Tooltip addComponentValue(Component<T> component, Formatter formatter, int formattingIndentation, boolean coloredFormatting) {
+    // The formatting function receives the line prefix and
+    // returns null if the formatted lines aren't ready yet
+    public Tooltip addComponentValue(Function<String, List<Text>> formatting) {
         this.addHeader("componentviewer.tooltip.purpose.components.value");
-
-        try {
-            this.lines.addAll(formatter.componentToText(component, formattingIndentation, coloredFormatting, Tooltip.CONTENT_INDENTATION));
-        } catch (FormattingException e) {
-            this.addFormattingException();
-        }
+        this.addFormattedLines(formatting);
 
         return this;
     }
 
-    public Tooltip addItemStack(ItemStack itemStack, Formatter formatter, int formattingIndentation, boolean coloredFormatting) {
+    public Tooltip addItemStack(Function<String, List<Text>> formatting) {
         this.addHeader("componentviewer.tooltip.purpose.item_stack");
+        this.addFormattedLines(formatting);
+
+        return this;
+    }
+
+    private void addFormattedLines(Function<String, List<Text>> formatting) {
+        List<Text> formattedLines;
 
         try {
-            this.lines.addAll(formatter.itemStackToText(itemStack, formattingIndentation, coloredFormatting, Tooltip.CONTENT_INDENTATION));
+            formattedLines = formatting.apply(Tooltip.CONTENT_INDENTATION);
         } catch (FormattingException e) {
             this.addFormattingException();
+            return;
         }
 
-        return this;
+        if (formattedLines == null) {
+            this.addFormattingInProgress();
+            return;
+        }
+
+        this.lines.addAll(formattedLines);
+    }
+
+    private void addComponentSelectionMarker(String translationKey, int numberOfComponents) {
+        this.lines.add(Text.literal(Tooltip.CONTENT_INDENTATION).append(Text.translatable(translationKey, numberOfComponents).fillStyle(Tooltip.COMPONENT_STYLE)));
+    }
+
+    private static Text getComponentSelectionLine(ComponentType<?> componentType, boolean selected, boolean removed, boolean doubleIndentation) {
+        // Only selected lines are indented differently
+        int variant = (selected ? Tooltip.SELECTED_VARIANT : 0) | (removed ? Tooltip.REMOVED_VARIANT : 0) | (selected && doubleIndentation ? Tooltip.DOUBLE_INDENTATION_VARIANT : 0);
+
+        Text[] variants = Tooltip.COMPONENT_SELECTION_LINES.computeIfAbsent(componentType, key -> new Text[Tooltip.NUMBER_OF_VARIANTS]);
+
+        if (variants[variant] == null) {
+            MutableText componentTypeText = Text.literal(componentType.toString()).fillStyle(Tooltip.COMPONENT_STYLE);
+
+            if (selected) {
+                componentTypeText.fillStyle(Tooltip.SELECTED_COMPONENT_STYLE);
+            }
+
+            if (removed) {
+                componentTypeText.fillStyle(Tooltip.REMOVED_COMPONENT_STYLE);
+            }
+
+            variants[variant] = Text.literal(Tooltip.CONTENT_INDENTATION.repeat(doubleIndentation && selected ? 2 : 1)).append(componentTypeText);
+        }
+
+        return variants[variant];
+    }
+
+    static Text createFormattingProgressLine(int progress) {
+        return Text.literal(Tooltip.CONTENT_INDENTATION).append(Text.translatable("componentviewer.tooltip.formatting_progress", progress).fillStyle(Tooltip.IN_PROGRESS_STYLE));
+    }
+
+    private void addFormattingInProgress() {
+        this.inProgress = true;
+        this.lines.add(Text.literal(Tooltip.CONTENT_INDENTATION).append(Text.translatable("componentviewer.tooltip.formatting_in_progress").fillStyle(Tooltip.IN_PROGRESS_STYLE)));
     }
 
     private void addFormattingException() {
@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.fixyl.componentviewer.control;
+
+import java.util.List;
+
+import net.minecraft.component.ComponentChanges;
+import net.minecraft.item.ItemStack;
+import net.minecraft.text.Text;
+
+import org.jetbrains.annotations.Nullable;
+
+import dev.fixyl.componentviewer.util.ResultCache;
+
+public final class TooltipCache {
+    // Only the most recently hovered item stack is kept,
+    // which is all a mouse resting on a slot needs
+    private final ResultCache<CachedTooltip> cachedTooltip;
+
+    public TooltipCache() {
+        this.cachedTooltip = new ResultCache<>(1);
+    }
+
+    // Must only be called from the render thread. The item stack is part of the key
+    // by identity, as hashing its component changes every frame would cost more than
+    // comparing them, which is mostly an identity check of their backing map.
+    public @Nullable List<Text> get(ItemStack itemStack, Object... arguments) {
+        CachedTooltip cachedTooltip = this.cachedTooltip.get(TooltipCache.createKey(itemStack, arguments));
+
+        // The item stack is mutable, so the lines are dropped as soon as its content changes
+        if (cachedTooltip == null || cachedTooltip.count() != itemStack.getCount() || !cachedTooltip.componentChanges().equals(itemStack.getComponentChanges())) {
+            return null;
+        }
+
+        return cachedTooltip.lines();
+    }
+
+    public void put(List<Text> lines, ItemStack itemStack, Object... arguments) {
+        this.cachedTooltip.put(new CachedTooltip(itemStack.getCount(), itemStack.getComponentChanges(), lines), TooltipCache.createKey(itemStack, arguments));
+    }
+
+    private static Object[] createKey(ItemStack itemStack, Object... arguments) {
+        Object[] key = new Object[arguments.length + 1];
+        key[0] = itemStack;
+        System.arraycopy(arguments, 0, key, 1, arguments.length);
+
+        return key;
+    }
+
+    private static record CachedTooltip(int count, ComponentChanges componentChanges, List<Text> lines) {}
+}
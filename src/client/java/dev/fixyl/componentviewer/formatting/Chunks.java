@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.fixyl.componentviewer.formatting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+
+import org.jetbrains.annotations.Nullable;
+
+public final class Chunks {
+    // Long strings count as a value per this many characters,
+    // so they get weighed and split up like arrays
+    public static final int CHARACTERS_PER_VALUE = 64;
+
+    private Chunks() {}
+
+    // Every chunk of entries is formatted by the chunk formatter, which continues at the
+    // current indent level of the format. Chunks are either formatted in parallel, each
+    // writing into a fragment, or one after another as steps of the incremental formatting.
+    public static <E, R> void formatInChunks(LineWriter<R> lineWriter, int numberOfEntries, IntFunction<E> entries, Structure<E> structure, int chunkWeight, @Nullable IncrementalFormatting incrementalFormatting, ChunkFormatter<R> chunkFormatter, Runnable separatorWriter, Runnable closingStep) {
+        List<Chunk> chunks = Chunks.partition(numberOfEntries, index -> Chunks.weigh(entries.apply(index), chunkWeight, structure), chunkWeight);
+
+        if (incrementalFormatting != null) {
+            incrementalFormatting.scheduleChunks(lineWriter, chunks, chunkFormatter, separatorWriter, closingStep);
+            return;
+        }
+
+        ParallelFormatting.formatChunks(lineWriter, chunks, chunkFormatter, separatorWriter);
+        closingStep.run();
+    }
+
+    // Counts the values of the element, but stops as soon as the limit
+    // is reached, so weighing huge elements stays cheap
+    public static <E> int weigh(E element, int limit, Structure<E> structure) {
+        int weight = 1 + structure.getNumberOfValues(element);
+
+        for (E child : structure.getChildren(element)) {
+            if (weight >= limit) {
+                break;
+            }
+
+            weight += Chunks.weigh(child, limit - weight, structure);
+        }
+
+        return weight;
+    }
+
+    // Only a value heavier than the chunk weight is guaranteed to have a chunk of its own,
+    // which is required to split its values into steps of the incremental formatting
+    public static boolean canSplitIntoSteps(@Nullable IncrementalFormatting incrementalFormatting, int chunkWeight, int numberOfValues) {
+        return incrementalFormatting != null && chunkWeight > 0 && numberOfValues > chunkWeight;
+    }
+
+    // Consecutive entries are grouped into chunks of about the given weight,
+    // while heavier entries get a chunk of their own, so their entries
+    // can be split into chunks again
+    public static List<Chunk> partition(int numberOfEntries, IntUnaryOperator entryWeigher, int chunkWeight) {
+        List<Chunk> chunks = new ArrayList<>();
+
+        int chunkStart = 0;
+        int accumulatedWeight = 0;
+
+        for (int index = 0; index < numberOfEntries; index++) {
+            int weight = entryWeigher.applyAsInt(index);
+
+            if (weight >= chunkWeight) {
+                if (chunkStart < index) {
+                    chunks.add(new Chunk(chunkStart, index, false));
+                }
+
+                chunks.add(new Chunk(index, index + 1, true));
+                chunkStart = index + 1;
+                accumulatedWeight = 0;
+
+                continue;
+            }
+
+            accumulatedWeight += weight;
+
+            if (accumulatedWeight >= chunkWeight) {
+                chunks.add(new Chunk(chunkStart, index + 1, false));
+                chunkStart = index + 1;
+                accumulatedWeight = 0;
+            }
+        }
+
+        if (chunkStart < numberOfEntries) {
+            chunks.add(new Chunk(chunkStart, numberOfEntries, false));
+        }
+
+        return chunks;
+    }
+
+    public static record Chunk(int start, int end, boolean heavy) {}
+
+    // How the elements of a format are nested, which is all needed to weigh them
+    public static interface Structure<E> {
+        public Iterable<E> getChildren(E element);
+
+        // Values the element holds itself rather than through children, like the values of arrays
+        public int getNumberOfValues(E element);
+    }
+
+    @FunctionalInterface
+    public static interface ChunkFormatter<R> {
+        // Formats the entries from start (inclusive) to end (exclusive), separated from
+        // each other. Only heavy entries may be split into chunks again.
+        public void format(LineWriter<R> lineWriter, int start, int end, boolean heavy);
+    }
+}
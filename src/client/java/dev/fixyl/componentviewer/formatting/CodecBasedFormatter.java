@@ -39,6 +39,8 @@ public interface CodecBasedFormatter extends Formatter {
 
     public <T> List<Text> codecToText(T value, @Nullable Codec<T> codec, int indentation, boolean colored, String linePrefix);
 
+    public <T> IncrementalFormatting codecToIncrementalText(T value, @Nullable Codec<T> codec, int indentation, boolean colored, String linePrefix);
+
     public default <T> String codecToString(T value, @Nullable Codec<T> codec, int indentation) {
         return this.codecToString(value, codec, indentation, "");
     }
@@ -57,6 +59,11 @@ public interface CodecBasedFormatter extends Formatter {
         return this.codecToText(component.value(), component.type().getCodec(), indentation, colored, linePrefix);
     }
 
+    @Override
+    public default <T> IncrementalFormatting componentToIncrementalText(Component<T> component, int indentation, boolean colored, String linePrefix) {
+        return this.codecToIncrementalText(component.value(), component.type().getCodec(), indentation, colored, linePrefix);
+    }
+
     @Override
     public default String itemStackToString(ItemStack itemStack, int indentation, String linePrefix) {
         return this.codecToString(itemStack, ItemStack.CODEC, indentation, linePrefix);
@@ -66,4 +73,9 @@ public interface CodecBasedFormatter extends Formatter {
     public default List<Text> itemStackToText(ItemStack itemStack, int indentation, boolean colored, String linePrefix) {
         return this.codecToText(itemStack, ItemStack.CODEC, indentation, colored, linePrefix);
     }
+
+    @Override
+    public default IncrementalFormatting itemStackToIncrementalText(ItemStack itemStack, int indentation, boolean colored, String linePrefix) {
+        return this.codecToIncrementalText(itemStack, ItemStack.CODEC, indentation, colored, linePrefix);
+    }
 }
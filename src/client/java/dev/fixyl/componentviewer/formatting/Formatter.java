@@ -43,6 +43,15 @@ public interface Formatter {
 
     public List<Text> itemStackToText(ItemStack itemStack, int indentation, boolean colored, String linePrefix);
 
+    // Formatters which can't format incrementally do all the work in a single step
+    public default <T> IncrementalFormatting componentToIncrementalText(Component<T> component, int indentation, boolean colored, String linePrefix) {
+        return IncrementalFormatting.of(() -> this.componentToText(component, indentation, colored, linePrefix));
+    }
+
+    public default IncrementalFormatting itemStackToIncrementalText(ItemStack itemStack, int indentation, boolean colored, String linePrefix) {
+        return IncrementalFormatting.of(() -> this.itemStackToText(itemStack, indentation, colored, linePrefix));
+    }
+
     public default <T> String componentToString(Component<T> component, int indentation) {
         return this.componentToString(component, indentation, "");
     }
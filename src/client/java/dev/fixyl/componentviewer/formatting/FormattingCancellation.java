@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.fixyl.componentviewer.formatting;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+public final class FormattingCancellation {
+    private static final BooleanSupplier NEVER_CANCELLED = () -> false;
+    private static final ThreadLocal<BooleanSupplier> CURRENT = ThreadLocal.withInitial(() -> FormattingCancellation.NEVER_CANCELLED);
+
+    private FormattingCancellation() {}
+
+    // Formatting done by the supplier stops with a FormattingCancelledException once
+    // cancelled, which is checked between the entries of the formatted values
+    public static <T> T call(BooleanSupplier isCancelled, Supplier<T> formatting) {
+        BooleanSupplier previousIsCancelled = FormattingCancellation.CURRENT.get();
+        FormattingCancellation.CURRENT.set(isCancelled);
+
+        try {
+            return formatting.get();
+        } finally {
+            FormattingCancellation.CURRENT.set(previousIsCancelled);
+        }
+    }
+
+    public static void run(BooleanSupplier isCancelled, Runnable formatting) {
+        FormattingCancellation.call(isCancelled, () -> {
+            formatting.run();
+            return null;
+        });
+    }
+
+    // Walkers get the check of the thread creating them, as they
+    // pass it on to the walkers of chunks formatted by other threads
+    public static BooleanSupplier current() {
+        return FormattingCancellation.CURRENT.get();
+    }
+
+    public static void check(BooleanSupplier isCancelled) {
+        if (isCancelled.getAsBoolean()) {
+            throw new FormattingCancelledException();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.fixyl.componentviewer.formatting;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import net.minecraft.text.Text;
+
+import dev.fixyl.componentviewer.formatting.Chunks.Chunk;
+import dev.fixyl.componentviewer.formatting.Chunks.ChunkFormatter;
+
+public final class IncrementalFormatting {
+    // The amount of values formatted by one step, which
+    // is small enough for many steps to fit into a frame
+    public static final int CHUNK_WEIGHT = 64;
+
+    private final Deque<Runnable> pendingSteps;
+    private final Supplier<List<Text>> partialResultSupplier;
+
+    private List<Text> result;
+    private RuntimeException failure;
+
+    private int finishedSteps;
+    private int progress;
+
+    private IncrementalFormatting(Supplier<List<Text>> partialResultSupplier) {
+        this.pendingSteps = new ArrayDeque<>();
+        this.partialResultSupplier = partialResultSupplier;
+
+        this.finishedSteps = 0;
+        this.progress = 0;
+    }
+
+    // Formatting which can't be split up, e.g. because its result is already cached
+    public static IncrementalFormatting of(Supplier<List<Text>> formatting) {
+        IncrementalFormatting incrementalFormatting = new IncrementalFormatting(List::of);
+        incrementalFormatting.pendingSteps.add(() -> incrementalFormatting.result = formatting.get());
+
+        return incrementalFormatting;
+    }
+
+    // The preparation, e.g. encoding the value, can't be split up, so it runs as a single
+    // step of its own on the calling thread, like every other step. The formatting of the
+    // prepared value writes into the line writer and may schedule further steps, which
+    // will all be run before the line writer gets finished.
+    public static <E> IncrementalFormatting of(TextLineWriter lineWriter, Supplier<E> preparation, BiConsumer<E, IncrementalFormatting> formatting, Consumer<List<Text>> resultConsumer) {
+        IncrementalFormatting incrementalFormatting = new IncrementalFormatting(lineWriter::getFinishedLines);
+
+        incrementalFormatting.pendingSteps.add(() -> {
+            E preparedValue = preparation.get();
+            incrementalFormatting.schedule(List.of(() -> formatting.accept(preparedValue, incrementalFormatting)));
+        });
+        incrementalFormatting.pendingSteps.add(() -> {
+            List<Text> result = lineWriter.finish();
+            resultConsumer.accept(result);
+
+            incrementalFormatting.result = Collections.unmodifiableList(result);
+        });
+
+        return incrementalFormatting;
+    }
+
+    // Runs steps until either all of them are done or the budget is used up,
+    // but always at least one, so the formatting can't get stuck
+    public boolean advance(long budgetNanos) {
+        if (this.failure != null) {
+            throw this.failure;
+        }
+
+        long deadline = System.nanoTime() + budgetNanos;
+
+        try {
+            do {
+                this.pendingSteps.removeFirst().run();
+                this.finishedSteps++;
+            } while (!this.pendingSteps.isEmpty() && System.nanoTime() - deadline < 0);
+        } catch (RuntimeException e) {
+            this.failure = e;
+            throw e;
+        }
+
+        return this.isDone();
+    }
+
+    public boolean isDone() {
+        return this.pendingSteps.isEmpty();
+    }
+
+    // Returns the lines formatted so far, or all of them once done
+    public List<Text> getLines() {
+        return (this.isDone()) ? this.result : this.partialResultSupplier.get();
+    }
+
+    // Steps keep getting scheduled while formatting, so the
+    // progress is an estimate which is kept from going backwards
+    public int getProgress() {
+        int estimatedProgress = (int) (100L * this.finishedSteps / (this.finishedSteps + this.pendingSteps.size()));
+        this.progress = Math.max(this.progress, estimatedProgress);
+
+        return this.progress;
+    }
+
+    // Scheduled steps are run next, in the given order
+    public void schedule(List<Runnable> steps) {
+        for (int index = steps.size() - 1; index >= 0; index--) {
+            this.pendingSteps.addFirst(steps.get(index));
+        }
+    }
+
+    // Splits the values of a single heavy value, like a huge array or string, into steps of
+    // a chunk each. Only a value which has a chunk of its own may be split up, as nothing
+    // else of its chunk would be written after the scheduled steps.
+    public void scheduleValues(int numberOfValues, int chunkWeight, ValuesFormatter valuesFormatter, Runnable closingStep) {
+        List<Runnable> steps = new ArrayList<>(numberOfValues / chunkWeight + 2);
+
+        for (int start = 0; start < numberOfValues; start += chunkWeight) {
+            int chunkStart = start;
+            int chunkEnd = Math.min(start + chunkWeight, numberOfValues);
+
+            steps.add(() -> valuesFormatter.format(chunkStart, chunkEnd));
+        }
+
+        steps.add(closingStep);
+        this.schedule(steps);
+    }
+
+    // Like values, but without splitting up surrogate pairs, as every step appends its characters separately
+    public void scheduleCharacters(String string, int chunkWeight, ValuesFormatter charactersFormatter, Runnable closingStep) {
+        this.scheduleValues(string.length(), chunkWeight * Chunks.CHARACTERS_PER_VALUE, (start, end) -> charactersFormatter.format(
+            IncrementalFormatting.alignToCodePoint(string, start),
+            IncrementalFormatting.alignToCodePoint(string, end)
+        ), closingStep);
+    }
+
+    // Every chunk becomes a step of its own, followed by the closing step
+    public <R> void scheduleChunks(LineWriter<R> lineWriter, List<Chunk> chunks, ChunkFormatter<R> chunkFormatter, Runnable separatorWriter, Runnable closingStep) {
+        List<Runnable> steps = new ArrayList<>(chunks.size() + 1);
+
+        for (int index = 0; index < chunks.size(); index++) {
+            Chunk chunk = chunks.get(index);
+            boolean isFirstChunk = index == 0;
+
+            steps.add(() -> {
+                if (!isFirstChunk) {
+                    separatorWriter.run();
+                }
+
+                chunkFormatter.format(lineWriter, chunk.start(), chunk.end(), chunk.heavy());
+            });
+        }
+
+        steps.add(closingStep);
+        this.schedule(steps);
+    }
+
+    private static int alignToCodePoint(String string, int index) {
+        return (index > 0 && index < string.length() && Character.isLowSurrogate(string.charAt(index))) ? index + 1 : index;
+    }
+
+    @FunctionalInterface
+    public static interface ValuesFormatter {
+        // Formats the values from start (inclusive) to end (exclusive)
+        public void format(int start, int end);
+    }
+}
@@ -26,37 +26,34 @@ package dev.fixyl.componentviewer.formatting;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntFunction;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import com.mojang.serialization.Codec;
-import com.mojang.serialization.JsonOps;
 
-import net.minecraft.client.MinecraftClient;
-import net.minecraft.text.MutableText;
 import net.minecraft.text.Style;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 
 import org.jetbrains.annotations.Nullable;
 
+import dev.fixyl.componentviewer.formatting.Chunks.ChunkFormatter;
+import dev.fixyl.componentviewer.formatting.Chunks.Structure;
+import dev.fixyl.componentviewer.util.Fingerprints;
 import dev.fixyl.componentviewer.util.ResultCache;
 
 public class JsonFormatter implements CodecBasedFormatter {
     private static final String NO_CODEC_REPR = "{}";
 
-    private static final Pattern STRING_ESCAPE_PATTERN = Pattern.compile("[\\\\\"]");
-    private static final String STRING_ESCAPE_REPLACEMENT = "\\\\$0";
+    private static final String[] STRING_ESCAPE_TABLE = JsonFormatter.createStringEscapeTable();
 
     private static final Map<JsonType, Style> JSON_STYLES = Map.ofEntries(
         Map.entry(JsonType.SPECIAL, Style.EMPTY.withColor(Formatting.WHITE)),
@@ -67,218 +64,350 @@ public class JsonFormatter implements CodecBasedFormatter {
         Map.entry(JsonType.NULL, Style.EMPTY.withColor(Formatting.BLUE))
     );
 
-    private final ResultCache<String> stringResultCache;
-    private final ResultCache<List<Text>> textResultCache;
+    private static final Structure<JsonElement> STRUCTURE = new Structure<>() {
+        @Override
+        public Iterable<JsonElement> getChildren(JsonElement jsonElement) {
+            if (jsonElement.isJsonObject()) {
+                return jsonElement.getAsJsonObject().asMap().values();
+            }
 
-    private final Map<Integer, String> newLinePrefixCache;
+            return (jsonElement.isJsonArray()) ? jsonElement.getAsJsonArray() : List.of();
+        }
 
-    private int indentation;
-    private boolean colored;
-    private String linePrefix;
+        @Override
+        public int getNumberOfValues(JsonElement jsonElement) {
+            if (jsonElement.isJsonPrimitive() && jsonElement.getAsJsonPrimitive().isString()) {
+                return jsonElement.getAsString().length() / Chunks.CHARACTERS_PER_VALUE;
+            }
 
-    private String indentPrefix;
-    private boolean isNewLinePrefixSet;
+            return 0;
+        }
+    };
 
-    private List<Text> textList;
-    private MutableText textLine;
-    private int indentLevel;
+    private final ResultCache<String> stringResultCache;
+    private final ResultCache<List<Text>> textResultCache;
 
     public JsonFormatter() {
         this.stringResultCache = new ResultCache<>();
         this.textResultCache = new ResultCache<>();
-
-        this.newLinePrefixCache = new HashMap<>();
-
-        this.isNewLinePrefixSet = false;
     }
 
     @Override
     public <T> String codecToString(T value, @Nullable Codec<T> codec, int indentation, String linePrefix) {
-        return this.stringResultCache.cache(() -> {
-            List<Text> formattedTextList = this.getFormattedTextList(value, codec, indentation, false, linePrefix);
-
-            return formattedTextList.stream().map(Text::getString).collect(Collectors.joining(System.lineSeparator()));
-        }, value, codec, indentation, linePrefix);
+        return this.stringResultCache.cache(
+            () -> JsonFormatter.formatJson(value, codec, indentation, new StringLineWriter(indentation, linePrefix, System.lineSeparator())),
+            Fingerprints.of(value), codec, indentation, linePrefix
+        );
     }
 
     @Override
     public <T> List<Text> codecToText(T value, @Nullable Codec<T> codec, int indentation, boolean colored, String linePrefix) {
         return Collections.unmodifiableList(this.textResultCache.cache(
-            () -> this.getFormattedTextList(value, codec, indentation, colored, linePrefix),
-            value, codec, indentation, colored, linePrefix
+            () -> JsonFormatter.getFormattedTextList(value, codec, indentation, colored, linePrefix),
+            Fingerprints.of(value), codec, indentation, colored, linePrefix
         ));
     }
 
-    private Style getStyle(JsonType jsonType) {
-        if (!this.colored) {
-            return Formatter.NO_COLOR_STYLE;
+    @Override
+    public <T> IncrementalFormatting codecToIncrementalText(T value, @Nullable Codec<T> codec, int indentation, boolean colored, String linePrefix) {
+        Object[] arguments = { Fingerprints.of(value), codec, indentation, colored, linePrefix };
+
+        if (codec == null || this.textResultCache.get(arguments) != null) {
+            return IncrementalFormatting.of(() -> this.codecToText(value, codec, indentation, colored, linePrefix));
         }
 
-        return JsonFormatter.JSON_STYLES.get(jsonType);
+        TextLineWriter lineWriter = new TextLineWriter(indentation, colored, linePrefix);
+
+        return IncrementalFormatting.of(
+            lineWriter,
+            () -> JsonFormatter.encode(value, codec),
+            (jsonElement, incrementalFormatting) -> new JsonWalker<>(lineWriter, indentation).walk(jsonElement, incrementalFormatting),
+            result -> this.textResultCache.put(result, arguments)
+        );
     }
 
-    private Style getStyle() {
-        return this.getStyle(JsonType.SPECIAL);
+    private static <T> List<Text> getFormattedTextList(T value, @Nullable Codec<T> codec, int indentation, boolean colored, String linePrefix) {
+        return JsonFormatter.formatJson(value, codec, indentation, new TextLineWriter(indentation, colored, linePrefix));
     }
 
-    private void updateNewLinePrefix(int indentation, String linePrefix) {
-        if (this.isNewLinePrefixSet && this.indentation == indentation && this.linePrefix.equals(linePrefix)) {
-            return;
+    private static <T, R> R formatJson(T value, @Nullable Codec<T> codec, int indentation, LineWriter<R> lineWriter) {
+        if (codec == null) {
+            lineWriter.append(JsonFormatter.NO_CODEC_REPR, JsonFormatter.JSON_STYLES.get(JsonType.SPECIAL));
+            return lineWriter.finish();
         }
 
-        this.indentation = indentation;
-        this.indentPrefix = " ".repeat(indentation);
-        this.linePrefix = linePrefix;
+        new JsonWalker<>(lineWriter, indentation).walk(JsonFormatter.encode(value, codec));
+
+        return lineWriter.finish();
+    }
+
+    // The codec has to encode into a tree first, as DataFixerUpper builds maps
+    // bottom-up and many codecs read their own encoded output back in
+    private static <T> JsonElement encode(T value, Codec<T> codec) {
+        return codec.encodeStart(RegistryOpsProvider.getJsonOps(), value).getOrThrow(FormattingException::new);
+    }
+
+    private static String escapeString(String string) {
+        StringBuilder stringBuilder = null;
+        int unescapedStart = 0;
+
+        for (int index = 0; index < string.length(); index++) {
+            char character = string.charAt(index);
+
+            if (character >= JsonFormatter.STRING_ESCAPE_TABLE.length || JsonFormatter.STRING_ESCAPE_TABLE[character] == null) {
+                continue;
+            }
+
+            if (stringBuilder == null) {
+                stringBuilder = new StringBuilder(string.length() + 16);
+            }
 
-        this.isNewLinePrefixSet = true;
+            stringBuilder.append(string, unescapedStart, index).append(JsonFormatter.STRING_ESCAPE_TABLE[character]);
+            unescapedStart = index + 1;
+        }
 
-        if (this.newLinePrefixCache != null) {
-            this.newLinePrefixCache.clear();
+        if (stringBuilder == null) {
+            return string;
         }
+
+        return stringBuilder.append(string, unescapedStart, string.length()).toString();
     }
 
-    private String getNewLinePrefix() {
-        if (this.indentLevel <= 0) {
-            return this.linePrefix;
+    private static String[] createStringEscapeTable() {
+        String[] escapeTable = new String[128];
+
+        for (int character = 0; character < 0x20; character++) {
+            escapeTable[character] = String.format("\\u%04x", character);
         }
 
-        return this.newLinePrefixCache.computeIfAbsent(this.indentLevel, key -> this.linePrefix + this.indentPrefix.repeat(key));
+        escapeTable['\b'] = "\\b";
+        escapeTable['\t'] = "\\t";
+        escapeTable['\n'] = "\\n";
+        escapeTable['\f'] = "\\f";
+        escapeTable['\r'] = "\\r";
+        escapeTable['"'] = "\\\"";
+        escapeTable['\\'] = "\\\\";
+
+        return escapeTable;
     }
 
-    private <T> List<Text> getFormattedTextList(T value, @Nullable Codec<T> codec, int indentation, boolean colored, String linePrefix) {
-        this.updateNewLinePrefix(indentation, linePrefix);
-        this.colored = colored;
+    private static class JsonWalker<R> {
+        private final LineWriter<R> lineWriter;
+        private final int indentation;
+        private final BooleanSupplier isCancelled;
 
-        this.textList = new ArrayList<>();
-        this.textLine = Text.literal(linePrefix);
-        this.indentLevel = 0;
+        private int indentLevel;
+        private int chunkWeight;
+        @Nullable private IncrementalFormatting incrementalFormatting;
 
-        if (codec == null) {
-            this.textLine.append(Text.literal(JsonFormatter.NO_CODEC_REPR).fillStyle(this.getStyle()));
-            this.textList.add(this.textLine);
-            return this.textList;
+        public JsonWalker(LineWriter<R> lineWriter, int indentation) {
+            this(lineWriter, indentation, 0, 0, null, FormattingCancellation.current());
         }
 
-        JsonElement jsonElement = codec.encodeStart(MinecraftClient.getInstance().player.getRegistryManager().getOps(JsonOps.INSTANCE), value).getOrThrow(FormattingException::new);
+        private JsonWalker(LineWriter<R> lineWriter, int indentation, int indentLevel, int chunkWeight, @Nullable IncrementalFormatting incrementalFormatting, BooleanSupplier isCancelled) {
+            this.lineWriter = lineWriter;
+            this.indentation = indentation;
+            this.isCancelled = isCancelled;
+            this.indentLevel = indentLevel;
+            this.chunkWeight = chunkWeight;
+            this.incrementalFormatting = incrementalFormatting;
+        }
 
-        this.walkJson(jsonElement);
+        public void walk(JsonElement jsonElement, IncrementalFormatting incrementalFormatting) {
+            this.chunkWeight = IncrementalFormatting.CHUNK_WEIGHT;
+            this.incrementalFormatting = incrementalFormatting;
 
-        if (this.indentLevel != 0) {
-            throw new FormattingException(String.format(
-                "Indent level must end up being zero! But it was %s.",
-                this.indentLevel
-            ));
+            // Scheduled first, so it ends up after all steps scheduled while walking
+            incrementalFormatting.schedule(List.of(this::checkIndentLevel));
+
+            this.walkJson(jsonElement);
         }
 
-        if (!this.textLine.getString().isEmpty()) {
-            this.textList.add(this.textLine);
+        public void walk(JsonElement jsonElement) {
+            this.chunkWeight = ParallelFormatting.getChunkWeight(jsonElement, JsonFormatter.STRUCTURE);
+
+            if (this.chunkWeight > 0) {
+                ParallelFormatting.invoke(() -> this.walkJson(jsonElement));
+            } else {
+                this.walkJson(jsonElement);
+            }
+
+            this.checkIndentLevel();
         }
 
-        return this.textList;
-    }
+        private void checkIndentLevel() {
+            if (this.indentLevel != 0) {
+                throw new FormattingException(String.format(
+                    "Indent level must end up being zero! But it was %s.",
+                    this.indentLevel
+                ));
+            }
+        }
 
-    private void walkJson(JsonElement jsonElement) {
-        if (jsonElement.isJsonObject()) {
-            this.processJsonObject(jsonElement.getAsJsonObject());
-        } else if (jsonElement.isJsonArray()) {
-            this.processJsonArray(jsonElement.getAsJsonArray());
-        } else if (jsonElement.isJsonPrimitive()) {
-            this.processJsonPrimitive(jsonElement.getAsJsonPrimitive());
-        } else if (jsonElement.isJsonNull()) {
-            this.processJsonNull();
-        } else {
-            throw new FormattingException("Unknown JSON element");
+        private void walkJson(JsonElement jsonElement) {
+            if (jsonElement.isJsonObject()) {
+                this.processJsonObject(jsonElement.getAsJsonObject());
+            } else if (jsonElement.isJsonArray()) {
+                this.processJsonArray(jsonElement.getAsJsonArray());
+            } else if (jsonElement.isJsonPrimitive()) {
+                this.processJsonPrimitive(jsonElement.getAsJsonPrimitive());
+            } else if (jsonElement.isJsonNull()) {
+                this.processJsonNull();
+            } else {
+                throw new FormattingException("Unknown JSON element");
+            }
         }
-    }
 
-    private void processJsonObject(JsonObject jsonObject) {
-        this.textLine.append(Text.literal("{").fillStyle(this.getStyle()));
+        private void processJsonObject(JsonObject jsonObject) {
+            this.append("{", JsonType.SPECIAL);
 
-        if (!jsonObject.isEmpty()) {
-            this.createNewLine(1);
+            if (!jsonObject.isEmpty()) {
+                this.createNewLine(1);
 
-            Iterator<Entry<String, JsonElement>> iterator = jsonObject.entrySet().iterator();
+                if (this.chunkWeight > 0) {
+                    List<Entry<String, JsonElement>> entries = new ArrayList<>(jsonObject.entrySet());
+                    this.walkInChunks(entries.size(), index -> entries.get(index).getValue(), (walker, start, end) -> walker.processJsonObjectEntries(entries.subList(start, end)), "}");
+                    return;
+                }
+
+                this.processJsonObjectEntries(jsonObject.entrySet());
+                this.createNewLine(-1);
+            }
+
+            this.append("}", JsonType.SPECIAL);
+        }
+
+        private void processJsonArray(JsonArray jsonArray) {
+            this.append("[", JsonType.SPECIAL);
+
+            if (!jsonArray.isEmpty()) {
+                this.createNewLine(1);
+
+                if (this.chunkWeight > 0) {
+                    List<JsonElement> elements = jsonArray.asList();
+                    this.walkInChunks(elements.size(), elements::get, (walker, start, end) -> walker.processJsonArrayElements(elements.subList(start, end)), "]");
+                    return;
+                }
+
+                this.processJsonArrayElements(jsonArray);
+                this.createNewLine(-1);
+            }
+
+            this.append("]", JsonType.SPECIAL);
+        }
+
+        private void processJsonObjectEntries(Iterable<Entry<String, JsonElement>> entries) {
+            Iterator<Entry<String, JsonElement>> iterator = entries.iterator();
             while (iterator.hasNext()) {
                 Entry<String, JsonElement> entry = iterator.next();
 
-                this.textLine.append(Text.literal("\"").fillStyle(this.getStyle()))
-                             .append(Text.literal(entry.getKey()).fillStyle(this.getStyle(JsonType.KEY)))
-                             .append(Text.literal("\": ").fillStyle(this.getStyle()));
+                FormattingCancellation.check(this.isCancelled);
+                this.append("\"", JsonType.SPECIAL);
+                this.append(JsonFormatter.escapeString(entry.getKey()), JsonType.KEY);
+                this.append("\": ", JsonType.SPECIAL);
                 this.walkJson(entry.getValue());
 
                 if (!iterator.hasNext()) {
                     break;
                 }
 
-                this.textLine.append(Text.literal(",").fillStyle(this.getStyle()));
-                this.createNewLine(0);
+                this.appendEntrySeparator();
             }
-
-            this.createNewLine(-1);
         }
 
-        this.textLine.append(Text.literal("}").fillStyle(this.getStyle()));
-    }
-
-    private void processJsonArray(JsonArray jsonArray) {
-        this.textLine.append(Text.literal("[").fillStyle(this.getStyle()));
-
-        if (!jsonArray.isEmpty()) {
-            this.createNewLine(1);
-
-            Iterator<JsonElement> iterator = jsonArray.iterator();
+        private void processJsonArrayElements(Iterable<JsonElement> elements) {
+            Iterator<JsonElement> iterator = elements.iterator();
             while (iterator.hasNext()) {
                 JsonElement jsonElement = iterator.next();
 
+                FormattingCancellation.check(this.isCancelled);
                 this.walkJson(jsonElement);
 
                 if (!iterator.hasNext()) {
                     break;
                 }
 
-                this.textLine.append(Text.literal(",").fillStyle(this.getStyle()));
-                this.createNewLine(0);
+                this.appendEntrySeparator();
             }
+        }
 
+        private void walkInChunks(int numberOfEntries, IntFunction<JsonElement> entries, EntriesWalker<R> entriesWalker, String closingBracket) {
+            int currentIndentLevel = this.indentLevel;
+            int currentChunkWeight = this.chunkWeight;
+            IncrementalFormatting currentIncrementalFormatting = this.incrementalFormatting;
+
+            ChunkFormatter<R> chunkFormatter = (chunkLineWriter, start, end, heavy) -> entriesWalker.walk(
+                new JsonWalker<>(chunkLineWriter, this.indentation, currentIndentLevel, (heavy) ? currentChunkWeight : 0, currentIncrementalFormatting, this.isCancelled),
+                start,
+                end
+            );
+
+            Chunks.formatInChunks(this.lineWriter, numberOfEntries, entries, JsonFormatter.STRUCTURE, currentChunkWeight, currentIncrementalFormatting, chunkFormatter, this::appendEntrySeparator, () -> this.appendClosingBracket(closingBracket));
+        }
+
+        private void appendClosingBracket(String closingBracket) {
             this.createNewLine(-1);
+            this.append(closingBracket, JsonType.SPECIAL);
         }
 
-        this.textLine.append(Text.literal("]").fillStyle(this.getStyle()));
-    }
+        private void processJsonPrimitive(JsonPrimitive jsonPrimitive) {
+            if (jsonPrimitive.isString()) {
+                this.processJsonString(jsonPrimitive.getAsString());
+            } else if (jsonPrimitive.isNumber()) {
+                this.append(jsonPrimitive.getAsString(), JsonType.NUMBER);
+            } else if (jsonPrimitive.isBoolean()) {
+                this.append(jsonPrimitive.getAsString(), JsonType.BOOLEAN);
+            } else {
+                throw new FormattingException("Unknown JSON primitive");
+            }
+        }
+
+        private void processJsonString(String string) {
+            this.append("\"", JsonType.SPECIAL);
+
+            // Escaping doesn't depend on surrounding characters, so every step escapes its own part
+            if (Chunks.canSplitIntoSteps(this.incrementalFormatting, this.chunkWeight, string.length() / Chunks.CHARACTERS_PER_VALUE)) {
+                this.incrementalFormatting.scheduleCharacters(
+                    string,
+                    this.chunkWeight,
+                    (start, end) -> this.append(JsonFormatter.escapeString(string.substring(start, end)), JsonType.STRING),
+                    () -> this.append("\"", JsonType.SPECIAL)
+                );
+
+                return;
+            }
 
-    private void processJsonPrimitive(JsonPrimitive jsonPrimitive) {
-        if (jsonPrimitive.isString()) {
-            this.textLine.append(Text.literal("\"").fillStyle(this.getStyle()))
-                         .append(Text.literal(JsonFormatter.escapeString(jsonPrimitive.getAsString())).fillStyle(this.getStyle(JsonType.STRING)))
-                         .append(Text.literal("\"").fillStyle(this.getStyle()));
-        } else if (jsonPrimitive.isNumber()) {
-            this.textLine.append(Text.literal(jsonPrimitive.getAsString()).fillStyle(this.getStyle(JsonType.NUMBER)));
-        } else if (jsonPrimitive.isBoolean()) {
-            this.textLine.append(Text.literal(jsonPrimitive.getAsString()).fillStyle(this.getStyle(JsonType.BOOLEAN)));
-        } else {
-            throw new FormattingException("Unknown JSON primitive");
+            this.append(JsonFormatter.escapeString(string), JsonType.STRING);
+            this.append("\"", JsonType.SPECIAL);
         }
-    }
 
-    private void processJsonNull() {
-        this.textLine.append(Text.literal("null").fillStyle(this.getStyle(JsonType.NULL)));
-    }
+        private void processJsonNull() {
+            this.append("null", JsonType.NULL);
+        }
 
-    private void createNewLine(int indentChange) {
-        this.indentLevel += indentChange;
+        private void append(String content, JsonType jsonType) {
+            this.lineWriter.append(content, JsonFormatter.JSON_STYLES.get(jsonType));
+        }
 
-        if (this.indentation > 0) {
-            this.textList.add(this.textLine);
-            this.textLine = Text.literal(this.getNewLinePrefix());
-        } else if (indentChange == 0) {
-            this.textLine.append(Text.literal(" "));
+        private void appendEntrySeparator() {
+            this.append(",", JsonType.SPECIAL);
+            this.createNewLine(0);
         }
-    }
 
-    private static String escapeString(String string) {
-        Matcher matcher = JsonFormatter.STRING_ESCAPE_PATTERN.matcher(string);
+        private void createNewLine(int indentChange) {
+            this.indentLevel += indentChange;
 
-        return matcher.replaceAll(JsonFormatter.STRING_ESCAPE_REPLACEMENT);
+            if (this.indentation > 0) {
+                this.lineWriter.newLine(this.indentLevel);
+            } else if (indentChange == 0) {
+                this.lineWriter.append(" ", Style.EMPTY);
+            }
+        }
+
+        @FunctionalInterface
+        private static interface EntriesWalker<R> {
+            public void walk(JsonWalker<R> walker, int start, int end);
+        }
     }
 
     private enum JsonType {
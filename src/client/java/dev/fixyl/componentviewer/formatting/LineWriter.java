@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.fixyl.componentviewer.formatting;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.text.Style;
+
+public abstract class LineWriter<R> {
+    private final String linePrefix;
+    private final String indentPrefix;
+    private final List<String> newLinePrefixes;
+
+    protected LineWriter(int indentation, String linePrefix) {
+        this.linePrefix = linePrefix;
+        this.indentPrefix = " ".repeat(Math.max(indentation, 0));
+
+        this.newLinePrefixes = new ArrayList<>();
+        this.newLinePrefixes.add(linePrefix);
+    }
+
+    protected LineWriter(LineWriter<R> lineWriter) {
+        this.linePrefix = lineWriter.linePrefix;
+        this.indentPrefix = lineWriter.indentPrefix;
+
+        this.newLinePrefixes = new ArrayList<>(lineWriter.newLinePrefixes);
+    }
+
+    public abstract LineWriter<R> append(CharSequence content, Style style);
+
+    public LineWriter<R> append(CharSequence content, int start, int end, Style style) {
+        return this.append(content.subSequence(start, end), style);
+    }
+
+    public abstract LineWriter<R> newLine(int indentLevel);
+
+    public abstract R finish();
+
+    // A fragment continues the current line and can be written independently,
+    // e.g. by another thread. Appending it afterwards results in the same
+    // output as if its content had been written to this line writer directly.
+    public abstract LineWriter<R> createFragment();
+
+    public abstract LineWriter<R> appendFragment(LineWriter<R> fragment);
+
+    protected String getNewLinePrefix(int indentLevel) {
+        if (indentLevel <= 0) {
+            return this.linePrefix;
+        }
+
+        while (this.newLinePrefixes.size() <= indentLevel) {
+            this.newLinePrefixes.add(this.newLinePrefixes.getLast() + this.indentPrefix);
+        }
+
+        return this.newLinePrefixes.get(indentLevel);
+    }
+}
@@ -24,15 +24,21 @@
 
 package dev.fixyl.componentviewer.formatting;
 
-import java.util.ArrayList;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
-import java.util.HashMap;
-import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
 
 import net.minecraft.component.Component;
 import net.minecraft.item.ItemStack;
@@ -40,9 +46,14 @@ import net.minecraft.text.MutableText;
 import net.minecraft.text.Style;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
+import net.minecraft.util.Identifier;
+
+import org.jetbrains.annotations.Nullable;
 
 import dev.fixyl.componentviewer.util.ResultCache;
 
+// Objects are tokenized from their string representation, which can't be split into
+// steps, so incremental formatting keeps the single step of the Formatter defaults
 public class ObjectFormatter implements Formatter {
     private static final Map<TokenType, Style> TOKEN_STYLES = Map.ofEntries(
         Map.entry(TokenType.ANY, Style.EMPTY.withColor(Formatting.AQUA)),
@@ -59,277 +70,490 @@ public class ObjectFormatter implements Formatter {
         Map.entry(TokenType.NULL, Style.EMPTY.withColor(Formatting.BLUE))
     );
 
-    private static final Map<Character, Character> BRACKET_PAIR = Map.of(
-        '(', ')',
-        '{', '}',
-        '[', ']'
-    );
-
     private final ResultCache<String> stringResultCache;
     private final ResultCache<List<Text>> textResultCache;
 
-    private final Tokenizer tokenizer;
-    private final Map<Integer, String> newLinePrefixCache;
-
-    private int indentation;
-    private boolean colored;
-
-    private String indentPrefix;
-    private String linePrefix;
-    private boolean isNewLinePrefixSet;
-
-    private List<Token> tokens;
-    private int currentIndex;
-    private Token currentToken;
-    private int indentLevel;
-    private List<Character> bracketHistory;
-    private State state;
-
-    private boolean formatAsText;
-    private List<Text> textList;
-    private MutableText textLine;
-    private StringBuilder stringBuilder;
-
     public ObjectFormatter() {
         this.stringResultCache = new ResultCache<>();
         this.textResultCache = new ResultCache<>();
-
-        this.tokenizer = new Tokenizer();
-        this.newLinePrefixCache = new HashMap<>();
-
-        this.isNewLinePrefixSet = false;
     }
 
     @Override
     public <T> String componentToString(Component<T> component, int indentation, String linePrefix) {
-        return this.valueToString(component.value().toString(), indentation, linePrefix);
+        return this.valueToString(component.value(), indentation, linePrefix);
     }
 
     @Override
     public <T> List<Text> componentToText(Component<T> component, int indentation, boolean colored, String linePrefix) {
-        return this.valueToText(component.value().toString(), indentation, colored, linePrefix);
+        return this.valueToText(component.value(), indentation, colored, linePrefix);
     }
 
     @Override
     public String itemStackToString(ItemStack itemStack, int indentation, String linePrefix) {
-        return this.valueToString(itemStack.toString(), indentation, linePrefix);
+        return this.valueToString(new OpaqueValue(itemStack.toString()), indentation, linePrefix);
     }
 
     @Override
     public List<Text> itemStackToText(ItemStack itemStack, int indentation, boolean colored, String linePrefix) {
-        return this.valueToText(itemStack.toString(), indentation, colored, linePrefix);
+        return this.valueToText(new OpaqueValue(itemStack.toString()), indentation, colored, linePrefix);
     }
 
-    private String valueToString(String value, int indentation, String linePrefix) {
-        return this.stringResultCache.cache(() -> {
-            if (indentation <= 0) {
-                return linePrefix + value;
-            }
-
-            List<Token> tokenList = this.tokenizer.tokenize(value);
-
-            return this.formatTokensAsString(tokenList, indentation, linePrefix);
-        }, value, indentation, linePrefix);
+    private String valueToString(Object value, int indentation, String linePrefix) {
+        return this.stringResultCache.cache(
+            () -> ObjectFormatter.formatValue(value, indentation, new StringLineWriter(indentation, linePrefix, System.lineSeparator())),
+            ObjectFormatter.createFingerprint(value), indentation, linePrefix
+        );
     }
 
-    private List<Text> valueToText(String value, int indentation, boolean colored, String linePrefix) {
+    private List<Text> valueToText(Object value, int indentation, boolean colored, String linePrefix) {
         return Collections.unmodifiableList(this.textResultCache.cache(() -> {
             if (indentation <= 0 && !colored) {
-                return List.of(Text.literal(linePrefix + value).fillStyle(Formatter.NO_COLOR_STYLE));
+                return List.of(Text.literal(ObjectFormatter.formatValue(value, 0, new StringLineWriter(0, linePrefix, System.lineSeparator()))).fillStyle(Formatter.NO_COLOR_STYLE));
             }
 
-            List<Token> tokenList = this.tokenizer.tokenize(value);
-
             if (indentation <= 0) {
                 MutableText line = Text.literal(linePrefix);
 
-                for (Token token : tokenList) {
-                    line.append(Text.literal(token.content()).fillStyle(ObjectFormatter.TOKEN_STYLES.get(token.tokenType())));
-                }
+                ObjectFormatter.walk(value, (tokenType, source, start, end) -> line.append(Text.literal(source.subSequence(start, end).toString()).fillStyle(ObjectFormatter.TOKEN_STYLES.get(tokenType))));
 
                 return List.of(line);
             }
 
-            return this.formatTokensAsText(tokenList, indentation, colored, linePrefix);
-        }, value, indentation, colored, linePrefix));
+            return ObjectFormatter.formatValue(value, indentation, new TextLineWriter(indentation, colored, linePrefix));
+        }, ObjectFormatter.createFingerprint(value), indentation, colored, linePrefix));
     }
 
-    private String formatTokensAsString(List<Token> tokens, int indentation, String linePrefix) {
-        this.formatAsText = false;
+    // Component values are immutable by contract, so results are keyed on the value itself. Only
+    // objects known by nothing but their string representation, which may lack a fitting equals(),
+    // are keyed on that string.
+    private static Object createFingerprint(Object value) {
+        return (ObjectFormatter.isOpaque(value)) ? new StringFingerprint(value.toString()) : value;
+    }
+
+    private static boolean isOpaque(@Nullable Object value) {
+        return !(value == null || value instanceof String || value instanceof Boolean || value instanceof Character
+            || value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long || value instanceof Float || value instanceof Double
+            || value instanceof Enum<?> || value instanceof Identifier || value instanceof OpaqueValue
+            || value instanceof Optional<?> || value instanceof Record || value instanceof Collection<?> || value instanceof Map<?, ?> || value.getClass().isArray());
+    }
+
+    private static <R> R formatValue(Object value, int indentation, LineWriter<R> lineWriter) {
+        if (indentation <= 0) {
+            ObjectFormatter.walk(value, (tokenType, source, start, end) -> lineWriter.append(source, start, end, ObjectFormatter.TOKEN_STYLES.get(tokenType)));
+
+            return lineWriter.finish();
+        }
+
+        Layout layout = new Layout(lineWriter);
+
+        ObjectFormatter.walk(value, layout);
+        layout.finish();
+
+        return lineWriter.finish();
+    }
 
-        this.stringBuilder = new StringBuilder(linePrefix);
+    // The walker and tokenizer carry per-call state,
+    // so every call gets its own instances
+    private static void walk(Object value, TokenSink tokenSink) {
+        new Walker(new Tokenizer()).walk(value, tokenSink);
+    }
 
-        this.formatTokens(tokens, indentation, linePrefix);
+    private enum State {
+        DEFAULT,
+        NEW_LINE,
+        EMPTY_BRACKETS
+    }
 
-        return this.stringBuilder.toString();
+    // Tokens are passed as a range of their source instead of
+    // a separate object, so no token content is ever copied
+    @FunctionalInterface
+    interface TokenSink {
+        public void accept(TokenType tokenType, CharSequence source, int start, int end);
     }
 
-    private List<Text> formatTokensAsText(List<Token> tokens, int indentation, boolean colored, String linePrefix) {
-        this.formatAsText = true;
+    private static class Layout implements TokenSink {
+        private final LineWriter<?> lineWriter;
+
+        private char[] bracketHistory;
+        private int bracketDepth;
+
+        private int indentLevel;
+        private State state;
 
-        this.textList = new ArrayList<>();
-        this.textLine = Text.literal(linePrefix);
-        this.colored = colored;
+        // Whether an opening bracket still awaits the next token to decide
+        // if its pair is empty or if the content starts on a new line
+        private boolean isOpeningBracketPending;
 
-        if (!this.colored) {
-            this.textLine.fillStyle(Formatter.NO_COLOR_STYLE);
+        public Layout(LineWriter<?> lineWriter) {
+            this.lineWriter = lineWriter;
+            this.bracketHistory = new char[16];
+            this.bracketDepth = 0;
+
+            this.indentLevel = 0;
+            this.state = State.DEFAULT;
+
+            this.isOpeningBracketPending = false;
         }
 
-        this.formatTokens(tokens, indentation, linePrefix);
+        @Override
+        public void accept(TokenType tokenType, CharSequence source, int start, int end) {
+            if (this.isOpeningBracketPending) {
+                this.isOpeningBracketPending = false;
+
+                if (tokenType == TokenType.CLOSING_BRACKET) {
+                    this.state = State.EMPTY_BRACKETS;
+                } else {
+                    this.createNewLine(1);
+                }
+            }
 
-        if (!this.textLine.getString().isEmpty()) {
-            this.textList.add(this.textLine);
+            switch (tokenType) {
+                case COMMA -> this.processCommaToken(tokenType, source, start, end);
+                case OPENING_BRACKET -> this.processOpeningBracketToken(tokenType, source, start, end);
+                case CLOSING_BRACKET -> this.processClosingBracketToken(tokenType, source, start, end);
+                default -> this.addToken(tokenType, source, start, end);
+            }
         }
 
-        return this.textList;
-    }
+        public void finish() {
+            if (this.isOpeningBracketPending) {
+                this.isOpeningBracketPending = false;
+                this.createNewLine(1);
+            }
+
+            if (this.indentLevel != 0) {
+                throw new FormattingException(String.format(
+                    "Indent level must end up being zero! But it was %s.",
+                    this.indentLevel
+                ));
+            }
+        }
 
-    private void updateNewLinePrefix(int indentation, String linePrefix) {
-        if (this.isNewLinePrefixSet && this.indentation == indentation && this.linePrefix.equals(linePrefix)) {
-            return;
+        private void processCommaToken(TokenType tokenType, CharSequence source, int start, int end) {
+            this.addToken(tokenType, source, start, end);
+            this.createNewLine(0);
         }
 
-        this.indentation = indentation;
-        this.indentPrefix = " ".repeat(indentation);
-        this.linePrefix = linePrefix;
+        private void processOpeningBracketToken(TokenType tokenType, CharSequence source, int start, int end) {
+            if (this.bracketDepth == this.bracketHistory.length) {
+                this.bracketHistory = Arrays.copyOf(this.bracketHistory, this.bracketDepth * 2);
+            }
+
+            this.bracketHistory[this.bracketDepth++] = source.charAt(start);
 
-        this.isNewLinePrefixSet = true;
+            this.addToken(tokenType, source, start, end);
 
-        if (this.newLinePrefixCache != null) {
-            this.newLinePrefixCache.clear();
+            this.isOpeningBracketPending = true;
         }
-    }
 
-    private String getNewLinePrefix() {
-        if (this.indentLevel <= 0) {
-            return this.linePrefix;
+        private void processClosingBracketToken(TokenType tokenType, CharSequence source, int start, int end) {
+            char bracketCharacter = source.charAt(start);
+
+            if (this.bracketDepth == 0 || Layout.getClosingBracket(this.bracketHistory[this.bracketDepth - 1]) != bracketCharacter) {
+                throw new FormattingException(String.format(
+                    "Unexpected bracket '%s' encountered! Either no pair was to be closed, or a different bracket opened this pair.",
+                    bracketCharacter
+                ));
+            }
+
+            this.bracketDepth--;
+
+            if (this.state == State.EMPTY_BRACKETS) {
+                this.state = State.DEFAULT;
+            } else {
+                this.createNewLine(-1);
+            }
+
+            this.addToken(tokenType, source, start, end);
         }
 
-        return this.newLinePrefixCache.computeIfAbsent(this.indentLevel, key -> this.linePrefix + this.indentPrefix.repeat(key));
-    }
+        private void createNewLine(int indentChange) {
+            this.indentLevel += indentChange;
 
-    private void formatTokens(List<Token> tokens, int indentation, String linePrefix) {
-        this.updateNewLinePrefix(indentation, linePrefix);
+            this.lineWriter.newLine(this.indentLevel);
 
-        this.tokens = tokens;
+            this.state = State.NEW_LINE;
+        }
+
+        private void addToken(TokenType tokenType, CharSequence source, int start, int end) {
+            if (this.state == State.NEW_LINE) {
+                start = Layout.skipLeadingWhitespace(source, start, end);
+                this.state = State.DEFAULT;
+            }
 
-        this.indentLevel = 0;
-        this.bracketHistory = new ArrayList<>();
+            this.lineWriter.append(source, start, end, ObjectFormatter.TOKEN_STYLES.get(tokenType));
+        }
+
+        private static int skipLeadingWhitespace(CharSequence source, int start, int end) {
+            while (start < end) {
+                int codePoint = Character.codePointAt(source, start);
 
-        this.state = State.DEFAULT;
+                if (!Character.isWhitespace(codePoint)) {
+                    break;
+                }
 
-        for (this.currentIndex = 0; this.currentIndex < this.tokens.size(); this.currentIndex++) {
-            this.currentToken = this.tokens.get(this.currentIndex);
-            this.processToken();
+                start += Character.charCount(codePoint);
+            }
+
+            return start;
         }
 
-        if (this.indentLevel != 0) {
-            throw new FormattingException(String.format(
-                "Indent level must end up being zero! But it was %s.",
-                this.indentLevel
-            ));
+        private static char getClosingBracket(char openingBracket) {
+            return switch (openingBracket) {
+                case '(' -> ')';
+                case '{' -> '}';
+                case '[' -> ']';
+                default -> throw new IllegalArgumentException(String.format("Unknown opening bracket '%s'", openingBracket));
+            };
         }
     }
 
-    private void processToken() {
-        switch (this.currentToken.tokenType()) {
-            case COMMA -> this.processCommaToken();
-            case OPENING_BRACKET -> this.processOpeningBracketToken();
-            case CLOSING_BRACKET -> this.processClosingBracketToken();
-            default -> this.addCurrentToken();
+    // Values whose string representation is the only thing known
+    // about them and must therefore be tokenized
+    private static record OpaqueValue(String string) {}
+
+    private static record StringFingerprint(String string) {}
+
+    private static record RecordAccessor(String name, MethodHandle handle) {}
+
+    private static class Walker {
+        private static final int MAX_DEPTH = 512;
+
+        private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+        private static final RecordAccessor[] INACCESSIBLE_RECORD = new RecordAccessor[0];
+
+        private static final ClassValue<RecordAccessor[]> RECORD_ACCESSORS = new ClassValue<>() {
+            @Override
+            protected RecordAccessor[] computeValue(Class<?> type) {
+                return Walker.createRecordAccessors(type);
+            }
+        };
+
+        private static final String NULL = "null";
+        private static final String COMMA = ",";
+        private static final String SPACE = " ";
+        private static final String EQUALS = "=";
+        private static final String DOT = ".";
+        private static final String DOUBLE_QUOTE = "\"";
+        private static final String SINGLE_QUOTE = "'";
+        private static final String OPTIONAL = "Optional";
+        private static final String OPTIONAL_EMPTY = "empty";
+
+        private final Tokenizer tokenizer;
+        private final BooleanSupplier isCancelled;
+
+        private TokenSink tokenSink;
+        private int depth;
+
+        public Walker(Tokenizer tokenizer) {
+            this.tokenizer = tokenizer;
+            this.isCancelled = FormattingCancellation.current();
         }
-    }
 
-    private void processCommaToken() {
-        this.addCurrentToken();
-        this.createNewLine(0);
-    }
+        public void walk(@Nullable Object value, TokenSink tokenSink) {
+            this.tokenSink = tokenSink;
+            this.depth = 0;
 
-    private void processOpeningBracketToken() {
-        this.bracketHistory.add(this.currentToken.content().charAt(0));
+            this.walkValue(value);
+        }
 
-        this.addCurrentToken();
+        private void walkValue(@Nullable Object value) {
+            if (value == null) {
+                this.emit(TokenType.NULL, Walker.NULL);
+                return;
+            }
 
-        if (this.currentIndex < this.tokens.size() - 1 && this.tokens.get(this.currentIndex + 1).tokenType() == TokenType.CLOSING_BRACKET) {
-            this.state = State.EMPTY_BRACKETS;
-            return;
+            if (this.depth >= Walker.MAX_DEPTH) {
+                throw new FormattingException(String.format(
+                    "Maximum depth of %s exceeded! The value is presumably self-referencing.",
+                    Walker.MAX_DEPTH
+                ));
+            }
+
+            FormattingCancellation.check(this.isCancelled);
+            this.depth++;
+
+            if (value instanceof OpaqueValue opaqueValue) {
+                this.tokenizer.tokenize(opaqueValue.string(), this.tokenSink);
+            } else if (value instanceof Boolean) {
+                this.emit(TokenType.BOOLEAN, value.toString());
+            } else if (value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long) {
+                this.emit(TokenType.INTEGER, value.toString());
+            } else if (value instanceof Float || value instanceof Double) {
+                this.emit(TokenType.FLOAT, value.toString());
+            } else if (value instanceof Character) {
+                this.walkString(value.toString(), Walker.SINGLE_QUOTE);
+            } else if (value instanceof String) {
+                this.walkString(value.toString(), Walker.DOUBLE_QUOTE);
+            } else if (value instanceof Optional<?> optional) {
+                this.walkOptional(optional);
+            } else if (value instanceof Record recordValue && Walker.RECORD_ACCESSORS.get(recordValue.getClass()) != Walker.INACCESSIBLE_RECORD) {
+                this.walkRecord(recordValue, Walker.RECORD_ACCESSORS.get(recordValue.getClass()));
+            } else if (value instanceof Collection<?> collection) {
+                this.walkElements(collection.iterator(), "[", "]");
+            } else if (value instanceof Map<?, ?> map) {
+                this.walkMap(map);
+            } else if (value.getClass().isArray()) {
+                this.walkArray(value);
+            } else {
+                this.tokenizer.tokenize(value.toString(), this.tokenSink);
+            }
+
+            this.depth--;
         }
 
-        this.createNewLine(1);
-    }
+        private void walkString(String string, String quote) {
+            this.emit(TokenType.QUOTE, quote);
+            this.emit(TokenType.STRING, string);
+            this.emit(TokenType.QUOTE, quote);
+        }
 
-    private void processClosingBracketToken() {
-        char bracketCharacter = this.currentToken.content().charAt(0);
+        private void walkOptional(Optional<?> optional) {
+            this.emit(TokenType.ANY, Walker.OPTIONAL);
 
-        if (this.bracketHistory.isEmpty() || !ObjectFormatter.BRACKET_PAIR.get(this.bracketHistory.getLast()).equals(bracketCharacter)) {
-            throw new FormattingException(String.format(
-                "Unexpected bracket '%s' encountered! Either no pair was to be closed, or a different bracket opened this pair.",
-                bracketCharacter
-            ));
+            if (optional.isEmpty()) {
+                this.emit(TokenType.SPECIAL, Walker.DOT);
+                this.emit(TokenType.ANY, Walker.OPTIONAL_EMPTY);
+                return;
+            }
+
+            this.emit(TokenType.OPENING_BRACKET, "[");
+            this.walkValue(optional.get());
+            this.emit(TokenType.CLOSING_BRACKET, "]");
         }
 
-        this.bracketHistory.removeLast();
+        private void walkRecord(Record recordValue, RecordAccessor[] recordAccessors) {
+            this.emit(TokenType.ANY, recordValue.getClass().getSimpleName());
+            this.emit(TokenType.OPENING_BRACKET, "[");
 
-        if (this.state == State.EMPTY_BRACKETS) {
-            this.state = State.DEFAULT;
-        } else {
-            this.createNewLine(-1);
+            for (int index = 0; index < recordAccessors.length; index++) {
+                if (index > 0) {
+                    this.emitSeparator();
+                }
+
+                this.emit(TokenType.ANY, recordAccessors[index].name());
+                this.emit(TokenType.SPECIAL, Walker.EQUALS);
+                this.walkValue(Walker.invokeAccessor(recordAccessors[index], recordValue));
+            }
+
+            this.emit(TokenType.CLOSING_BRACKET, "]");
         }
 
-        this.addCurrentToken();
-    }
+        private void walkElements(Iterator<?> iterator, String openingBracket, String closingBracket) {
+            this.emit(TokenType.OPENING_BRACKET, openingBracket);
+
+            while (iterator.hasNext()) {
+                this.walkValue(iterator.next());
+
+                if (iterator.hasNext()) {
+                    this.emitSeparator();
+                }
+            }
+
+            this.emit(TokenType.CLOSING_BRACKET, closingBracket);
+        }
+
+        private void walkMap(Map<?, ?> map) {
+            this.emit(TokenType.OPENING_BRACKET, "{");
 
-    private void createNewLine(int indentChange) {
-        this.indentLevel += indentChange;
+            Iterator<? extends Map.Entry<?, ?>> iterator = map.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<?, ?> entry = iterator.next();
 
-        if (this.formatAsText) {
-            this.textList.add(this.textLine);
-            this.textLine = Text.literal(this.getNewLinePrefix());
+                this.walkValue(entry.getKey());
+                this.emit(TokenType.SPECIAL, Walker.EQUALS);
+                this.walkValue(entry.getValue());
 
-            if (!this.colored) {
-                this.textLine.fillStyle(Formatter.NO_COLOR_STYLE);
+                if (iterator.hasNext()) {
+                    this.emitSeparator();
+                }
             }
-        } else {
-            this.stringBuilder.append(System.lineSeparator()).append(this.getNewLinePrefix());
+
+            this.emit(TokenType.CLOSING_BRACKET, "}");
         }
 
-        this.state = State.NEW_LINE;
-    }
+        private void walkArray(Object array) {
+            this.emit(TokenType.OPENING_BRACKET, "[");
 
-    private void addCurrentToken() {
-        String tokenContent = this.currentToken.content();
+            int length = Array.getLength(array);
+            for (int index = 0; index < length; index++) {
+                if (index > 0) {
+                    this.emitSeparator();
+                }
 
-        if (this.state == State.NEW_LINE) {
-            tokenContent = tokenContent.stripLeading();
-            this.state = State.DEFAULT;
+                this.walkValue(Array.get(array, index));
+            }
+
+            this.emit(TokenType.CLOSING_BRACKET, "]");
         }
 
-        if (this.formatAsText) {
-            this.textLine.append(Text.literal(tokenContent).fillStyle((this.colored) ? ObjectFormatter.TOKEN_STYLES.get(this.currentToken.tokenType()) : Formatter.NO_COLOR_STYLE));
-        } else {
-            this.stringBuilder.append(tokenContent);
+        private void emitSeparator() {
+            this.emit(TokenType.COMMA, Walker.COMMA);
+            this.emit(TokenType.ANY, Walker.SPACE);
         }
-    }
 
-    private enum State {
-        DEFAULT,
-        NEW_LINE,
-        EMPTY_BRACKETS
+        private void emit(TokenType tokenType, String content) {
+            if (!content.isEmpty()) {
+                this.tokenSink.accept(tokenType, content, 0, content.length());
+            }
+        }
+
+        private static Object invokeAccessor(RecordAccessor recordAccessor, Object recordValue) {
+            try {
+                return (Object) recordAccessor.handle().invokeExact(recordValue);
+            } catch (Throwable e) {
+                throw new FormattingException(String.format(
+                    "Cannot access record component '%s'!",
+                    recordAccessor.name()
+                ), e);
+            }
+        }
+
+        private static RecordAccessor[] createRecordAccessors(Class<?> type) {
+            RecordComponent[] recordComponents = type.getRecordComponents();
+
+            if (recordComponents == null) {
+                return Walker.INACCESSIBLE_RECORD;
+            }
+
+            RecordAccessor[] recordAccessors = new RecordAccessor[recordComponents.length];
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+            try {
+                for (int index = 0; index < recordComponents.length; index++) {
+                    Method accessor = recordComponents[index].getAccessor();
+                    accessor.setAccessible(true);
+
+                    recordAccessors[index] = new RecordAccessor(
+                        recordComponents[index].getName(),
+                        lookup.unreflect(accessor).asType(Walker.ACCESSOR_TYPE)
+                    );
+                }
+            } catch (IllegalAccessException | RuntimeException e) {
+                // Records that cannot be accessed are treated like any other object
+                return Walker.INACCESSIBLE_RECORD;
+            }
+
+            return recordAccessors;
+        }
     }
 
-    private static class Tokenizer {
-        private static final Pattern NON_WORD_CHAR_PATTERN = Pattern.compile("^[^\\p{L}\\p{N}_]$");
-        private static final Pattern NON_WORD_DOT_CHAR_PATTERN = Pattern.compile("^[^\\p{L}\\p{N}_.]$");
-        private static final Pattern NON_WORD_DOT_DASH_CHAR_PATTERN = Pattern.compile("^[^\\p{L}\\p{N}_.\\-]$");
+    // Package-private, so the tests can compare its tokens with the regex based tokenizer it replaced
+    static class Tokenizer {
+        // Character classes of the ASCII range, any other character
+        // is classified based on its Unicode general category
+        private static final byte CLASS_WORD = 0b00001;
+        private static final byte CLASS_DOT = 0b00010;
+        private static final byte CLASS_DASH = 0b00100;
+        private static final byte CLASS_DIGIT = 0b01000;
+        private static final byte CLASS_HEX = 0b10000;
 
-        private static final Pattern CURLY_BRACKET_STRING_BEGIN_PATTERN = Pattern.compile("^(keybind|literal|pattern)\\{");
-        private static final Pattern INTEGER_PATTERN = Pattern.compile("^(-?\\d+)(?![\\p{L}\\p{N}_.\\-])");
-        private static final Pattern FLOAT_PATTERN = Pattern.compile("^(-?\\d+\\.\\d+)(?![\\p{L}\\p{N}_.\\-])");
-        private static final Pattern HEX_PATTERN = Pattern.compile("^([a-fA-F\\d]+)(?![\\p{L}\\p{N}_.])");
-        private static final Pattern BOOLEAN_PATTERN = Pattern.compile("^(true|false)(?![\\p{L}\\p{N}_])");
-        private static final Pattern NULL_PATTERN = Pattern.compile("^(null)(?![\\p{L}\\p{N}_])");
+        private static final byte[] ASCII_CHARACTER_CLASSES = Tokenizer.createAsciiCharacterClasses();
 
-        private Map<Pattern, Matcher> patternMatcherMap;
+        private static final String[] CURLY_BRACKET_STRING_KEYWORDS = { "keybind", "literal", "pattern" };
+        private static final String TRUE_KEYWORD = "true";
+        private static final String FALSE_KEYWORD = "false";
+        private static final String NULL_KEYWORD = "null";
 
         private String currentString;
         private int stringLength;
@@ -337,15 +561,16 @@ public class ObjectFormatter implements Formatter {
         private int currentIndex;
         private char currentChar;
 
-        private List<Token> tokens;
-        private StringBuilder currentTokenContent;
+        private TokenSink tokenSink;
+        private int currentTokenStart;
+        private int currentTokenEnd;
         private TokenType currentTokenType;
 
         private TokenizerState tokenizerState;
         private char currentOpeningQuote;
 
-        public List<Token> tokenize(String string) {
-            this.initializeTokenizerVariables(string);
+        public void tokenize(String string, TokenSink tokenSink) {
+            this.initializeTokenizerVariables(string, tokenSink);
 
             while (this.currentIndex < this.stringLength) {
                 this.currentChar = string.charAt(this.currentIndex);
@@ -355,30 +580,23 @@ public class ObjectFormatter implements Formatter {
             }
 
             this.finishCurrentToken();
-
-            return this.tokens;
         }
 
-        private void initializeTokenizerVariables(String string) {
-            this.patternMatcherMap = new IdentityHashMap<>();
-
+        private void initializeTokenizerVariables(String string, TokenSink tokenSink) {
             this.currentString = string;
             this.stringLength = string.length();
 
             this.currentIndex = 0;
 
-            this.tokens = new ArrayList<>();
-            this.currentTokenContent = new StringBuilder();
+            this.tokenSink = tokenSink;
+            this.currentTokenStart = 0;
+            this.currentTokenEnd = 0;
             this.currentTokenType = TokenType.ANY;
 
             this.tokenizerState = TokenizerState.DEFAULT;
             this.currentOpeningQuote = '\0';
         }
 
-        private Matcher getMatcherFromPattern(Pattern pattern) {
-            return this.patternMatcherMap.computeIfAbsent(pattern, key -> key.matcher(this.currentString));
-        }
-
         private void processCharacter() {
             switch (this.tokenizerState) {
                 case DEFAULT -> this.processDefaultTokenizerState();
@@ -484,17 +702,27 @@ public class ObjectFormatter implements Formatter {
         }
 
         private boolean matchCurlyBracketStringBegin() {
-            if (!this.matchRegex(Tokenizer.NON_WORD_CHAR_PATTERN, Tokenizer.CURLY_BRACKET_STRING_BEGIN_PATTERN, TokenType.ANY)) {
+            if (this.isPrecededBy(Tokenizer.CLASS_WORD)) {
                 return false;
             }
 
-            this.currentIndex++;
-            this.currentChar = '{';
-            this.processOpeningBracket();
+            for (String keyword : Tokenizer.CURLY_BRACKET_STRING_KEYWORDS) {
+                int keywordEnd = this.currentIndex + keyword.length();
 
-            this.tokenizerState = TokenizerState.CURLY_BRACKET_STRING;
+                if (keywordEnd < this.stringLength && this.currentString.charAt(keywordEnd) == '{' && this.currentString.startsWith(keyword, this.currentIndex)) {
+                    this.addMatch(keywordEnd, TokenType.ANY);
 
-            return true;
+                    this.currentIndex++;
+                    this.currentChar = '{';
+                    this.processOpeningBracket();
+
+                    this.tokenizerState = TokenizerState.CURLY_BRACKET_STRING;
+
+                    return true;
+                }
+            }
+
+            return false;
         }
 
         private void processCurlyBracketStringEnd() {
@@ -504,45 +732,102 @@ public class ObjectFormatter implements Formatter {
         }
 
         private boolean matchNumber() {
-            return this.matchRegex(Tokenizer.NON_WORD_DOT_DASH_CHAR_PATTERN, Tokenizer.INTEGER_PATTERN, TokenType.INTEGER)
-                || this.matchRegex(Tokenizer.NON_WORD_DOT_DASH_CHAR_PATTERN, Tokenizer.FLOAT_PATTERN, TokenType.FLOAT)
-                || this.matchRegex(Tokenizer.NON_WORD_DOT_CHAR_PATTERN, Tokenizer.HEX_PATTERN, TokenType.HEX);
+            // Integers and floats: -?\d+ or -?\d+\.\d+, neither preceded
+            // nor followed by a word, dot or dash character
+            if (!this.isPrecededBy(Tokenizer.CLASS_WORD | Tokenizer.CLASS_DOT | Tokenizer.CLASS_DASH)) {
+                int integerStart = (this.currentChar == '-') ? this.currentIndex + 1 : this.currentIndex;
+                int integerEnd = this.skipCharacters(integerStart, Tokenizer.CLASS_DIGIT);
+
+                if (integerEnd > integerStart) {
+                    if (!this.isFollowedBy(integerEnd, Tokenizer.CLASS_WORD | Tokenizer.CLASS_DOT | Tokenizer.CLASS_DASH)) {
+                        this.addMatch(integerEnd, TokenType.INTEGER);
+                        return true;
+                    }
+
+                    if (this.currentString.charAt(integerEnd) == '.') {
+                        int fractionEnd = this.skipCharacters(integerEnd + 1, Tokenizer.CLASS_DIGIT);
+
+                        if (fractionEnd > integerEnd + 1 && !this.isFollowedBy(fractionEnd, Tokenizer.CLASS_WORD | Tokenizer.CLASS_DOT | Tokenizer.CLASS_DASH)) {
+                            this.addMatch(fractionEnd, TokenType.FLOAT);
+                            return true;
+                        }
+                    }
+                }
+            }
+
+            // Hexadecimals: [a-fA-F\d]+, neither preceded
+            // nor followed by a word or dot character
+            if (!this.isPrecededBy(Tokenizer.CLASS_WORD | Tokenizer.CLASS_DOT)) {
+                int hexEnd = this.skipCharacters(this.currentIndex, Tokenizer.CLASS_HEX);
+
+                if (hexEnd > this.currentIndex && !this.isFollowedBy(hexEnd, Tokenizer.CLASS_WORD | Tokenizer.CLASS_DOT)) {
+                    this.addMatch(hexEnd, TokenType.HEX);
+                    return true;
+                }
+            }
+
+            return false;
         }
 
         private boolean matchBoolean() {
-            return this.matchRegex(Tokenizer.NON_WORD_CHAR_PATTERN, Tokenizer.BOOLEAN_PATTERN, TokenType.BOOLEAN);
+            return this.matchKeyword(Tokenizer.TRUE_KEYWORD, TokenType.BOOLEAN)
+                || this.matchKeyword(Tokenizer.FALSE_KEYWORD, TokenType.BOOLEAN);
         }
 
         private boolean matchNull() {
-            return this.matchRegex(Tokenizer.NON_WORD_CHAR_PATTERN, Tokenizer.NULL_PATTERN, TokenType.NULL);
+            return this.matchKeyword(Tokenizer.NULL_KEYWORD, TokenType.NULL);
         }
 
-        private boolean matchRegex(Pattern leadingCharPattern, Pattern contentPattern, TokenType tokenType) {
-            Matcher leadingCharMatcher = this.getMatcherFromPattern(leadingCharPattern);
-            Matcher contentMatcher = this.getMatcherFromPattern(contentPattern);
-
-            boolean isValidLeadingChar = true;
+        private boolean matchKeyword(String keyword, TokenType tokenType) {
+            int keywordEnd = this.currentIndex + keyword.length();
 
-            if (this.currentIndex > 0) {
-                leadingCharMatcher.region(this.currentIndex - 1, this.currentIndex);
-                isValidLeadingChar = leadingCharMatcher.matches();
+            if (this.isPrecededBy(Tokenizer.CLASS_WORD)
+                || !this.currentString.startsWith(keyword, this.currentIndex)
+                || this.isFollowedBy(keywordEnd, Tokenizer.CLASS_WORD)) {
+                return false;
             }
 
-            contentMatcher.region(this.currentIndex, this.stringLength);
+            this.addMatch(keywordEnd, tokenType);
 
-            if (!isValidLeadingChar || !contentMatcher.find()) {
-                return false;
+            return true;
+        }
+
+        private boolean isPrecededBy(int characterClasses) {
+            // Only the preceding UTF-16 code unit is taken into account,
+            // a lone low surrogate therefore never matches a class
+            return this.currentIndex > 0 && (Tokenizer.getCharacterClasses(this.currentString.charAt(this.currentIndex - 1)) & characterClasses) != 0;
+        }
+
+        private boolean isFollowedBy(int index, int characterClasses) {
+            return index < this.stringLength && (Tokenizer.getCharacterClasses(this.currentString.codePointAt(index)) & characterClasses) != 0;
+        }
+
+        private int skipCharacters(int index, int characterClasses) {
+            while (index < this.stringLength && (Tokenizer.getCharacterClasses(this.currentString.charAt(index)) & characterClasses) != 0) {
+                index++;
             }
 
+            return index;
+        }
+
+        private void addMatch(int matchEnd, TokenType tokenType) {
             this.finishCurrentToken();
-            this.addCharacters(contentMatcher.group(1), tokenType);
-            this.finishCurrentToken(tokenType);
 
-            return true;
+            this.currentTokenStart = this.currentIndex;
+            this.currentTokenEnd = matchEnd;
+            this.currentIndex = matchEnd - 1;
+
+            this.finishCurrentToken(tokenType);
         }
 
         private void addCurrentCharacter(TokenType tokenType) {
-            this.currentTokenContent.append(this.currentChar);
+            // Characters are always added in order, so the
+            // content of a token is a contiguous range
+            if (this.currentTokenStart == this.currentTokenEnd) {
+                this.currentTokenStart = this.currentIndex;
+            }
+
+            this.currentTokenEnd = this.currentIndex + 1;
 
             if (TokenType.singleCharacterTokenTypes.contains(tokenType)) {
                 this.finishCurrentToken(tokenType);
@@ -551,28 +836,56 @@ public class ObjectFormatter implements Formatter {
             this.currentTokenType = tokenType;
         }
 
-        private void addCharacters(String characters, TokenType tokenType) {
-            this.currentTokenContent.append(characters);
-
-            this.currentTokenType = tokenType;
-            this.currentIndex += characters.length() - 1;
-        }
-
         private void finishCurrentToken() {
             this.finishCurrentToken(this.currentTokenType);
         }
 
         private void finishCurrentToken(TokenType tokenType) {
-            if (!this.currentTokenContent.isEmpty()) {
-                Token token = new Token(tokenType, this.currentTokenContent.toString());
+            if (this.currentTokenStart < this.currentTokenEnd) {
+                this.tokenSink.accept(tokenType, this.currentString, this.currentTokenStart, this.currentTokenEnd);
 
-                this.currentTokenContent.setLength(0);
-                this.tokens.add(token);
+                this.currentTokenStart = this.currentTokenEnd;
             }
 
             this.currentTokenType = TokenType.ANY;
         }
 
+        private static int getCharacterClasses(int codePoint) {
+            if (codePoint < Tokenizer.ASCII_CHARACTER_CLASSES.length) {
+                return Tokenizer.ASCII_CHARACTER_CLASSES[codePoint];
+            }
+
+            return (Character.isLetter(codePoint) || Tokenizer.isNumber(codePoint)) ? Tokenizer.CLASS_WORD : 0;
+        }
+
+        private static boolean isNumber(int codePoint) {
+            int type = Character.getType(codePoint);
+
+            return type == Character.DECIMAL_DIGIT_NUMBER
+                || type == Character.LETTER_NUMBER
+                || type == Character.OTHER_NUMBER;
+        }
+
+        private static byte[] createAsciiCharacterClasses() {
+            byte[] characterClasses = new byte[128];
+
+            for (char ch = 0; ch < characterClasses.length; ch++) {
+                if (ch >= '0' && ch <= '9') {
+                    characterClasses[ch] = Tokenizer.CLASS_WORD | Tokenizer.CLASS_DIGIT | Tokenizer.CLASS_HEX;
+                } else if (ch >= 'A' && ch <= 'F' || ch >= 'a' && ch <= 'f') {
+                    characterClasses[ch] = Tokenizer.CLASS_WORD | Tokenizer.CLASS_HEX;
+                } else if (ch >= 'G' && ch <= 'Z' || ch >= 'g' && ch <= 'z' || ch == '_') {
+                    characterClasses[ch] = Tokenizer.CLASS_WORD;
+                } else if (ch == '.') {
+                    characterClasses[ch] = Tokenizer.CLASS_DOT;
+                } else if (ch == '-') {
+                    characterClasses[ch] = Tokenizer.CLASS_DASH;
+                }
+            }
+
+            return characterClasses;
+        }
+
         private static boolean isQuoteCharacter(char ch) {
             return ch == '"'
                 || ch == '\'';
@@ -607,7 +920,7 @@ public class ObjectFormatter implements Formatter {
         }
     }
 
-    private enum TokenType {
+    enum TokenType {
         ANY,
         SPECIAL,
         OPENING_BRACKET,
@@ -629,6 +942,4 @@ public class ObjectFormatter implements Formatter {
             TokenType.QUOTE
         );
     }
-
-    private static record Token(TokenType tokenType, String content) {}
 }
@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.fixyl.componentviewer.formatting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+import dev.fixyl.componentviewer.formatting.Chunks.Chunk;
+import dev.fixyl.componentviewer.formatting.Chunks.ChunkFormatter;
+
+public final class ParallelFormatting {
+    private static final String THREAD_NAME_PREFIX = "ComponentViewer Formatting Worker-";
+    private static final int CHUNKS_PER_THRESHOLD = 8;
+
+    private static final ForkJoinPool POOL = ParallelFormatting.createPool();
+
+    // Published by the render thread, so every formatting
+    // thread uses the threshold of the current configs
+    private static volatile int threshold = 0;
+
+    private ParallelFormatting() {}
+
+    // A threshold of zero disables parallel formatting
+    public static void setThreshold(int threshold) {
+        ParallelFormatting.threshold = Math.max(threshold, 0);
+    }
+
+    // Values are split into chunks considerably smaller than the threshold,
+    // so there is still enough work for all workers right at the threshold
+    public static int getChunkWeight(int threshold) {
+        return Math.max(threshold / ParallelFormatting.CHUNKS_PER_THRESHOLD, 1);
+    }
+
+    // Zero if the element isn't heavy enough to be formatted in parallel
+    public static <E> int getChunkWeight(E element, Chunks.Structure<E> structure) {
+        int currentThreshold = ParallelFormatting.threshold;
+
+        if (currentThreshold > 0 && Chunks.weigh(element, currentThreshold, structure) >= currentThreshold) {
+            return ParallelFormatting.getChunkWeight(currentThreshold);
+        }
+
+        return 0;
+    }
+
+    public static void invoke(Runnable formatting) {
+        ParallelFormatting.POOL.invoke(ForkJoinTask.adapt(formatting));
+    }
+
+    // Must only be called from within invoke(). Every chunk is formatted into a fragment
+    // of its own, which are then appended in order, separated from each other
+    public static <R> void formatChunks(LineWriter<R> lineWriter, List<Chunk> chunks, ChunkFormatter<R> chunkFormatter, Runnable separatorWriter) {
+        List<ChunkTask<R>> chunkTasks = new ArrayList<>(chunks.size());
+
+        for (Chunk chunk : chunks) {
+            chunkTasks.add(new ChunkTask<>(lineWriter.createFragment(), chunk, chunkFormatter));
+        }
+
+        ForkJoinTask.invokeAll(chunkTasks);
+
+        for (int index = 0; index < chunkTasks.size(); index++) {
+            if (index != 0) {
+                separatorWriter.run();
+            }
+
+            lineWriter.appendFragment(chunkTasks.get(index).join());
+        }
+    }
+
+    private static ForkJoinPool createPool() {
+        int parallelism = Math.max(Runtime.getRuntime().availableProcessors() - 2, 1);
+
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(ParallelFormatting.THREAD_NAME_PREFIX + thread.getPoolIndex());
+            thread.setPriority(Thread.MIN_PRIORITY);
+
+            return thread;
+        }, null, false);
+    }
+
+    private static class ChunkTask<R> extends RecursiveTask<LineWriter<R>> {
+        // The fragment is already created by the forking thread, as
+        // line writers themselves may only be used by one thread at a time
+        private final LineWriter<R> fragment;
+        private final Chunk chunk;
+        private final ChunkFormatter<R> chunkFormatter;
+
+        public ChunkTask(LineWriter<R> fragment, Chunk chunk, ChunkFormatter<R> chunkFormatter) {
+            this.fragment = fragment;
+            this.chunk = chunk;
+            this.chunkFormatter = chunkFormatter;
+        }
+
+        @Override
+        protected LineWriter<R> compute() {
+            this.chunkFormatter.format(this.fragment, this.chunk.start(), this.chunk.end(), this.chunk.heavy());
+
+            return this.fragment;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.fixyl.componentviewer.formatting;
+
+import com.google.gson.JsonElement;
+import com.mojang.serialization.DynamicOps;
+import com.mojang.serialization.JsonOps;
+
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.registry.DynamicRegistryManager;
+
+import org.jetbrains.annotations.Nullable;
+
+public final class RegistryOpsProvider {
+    // Built once per set of registries on the render thread and published as
+    // a whole, so formatting threads never have to touch the client player
+    private static volatile RegistryOpsSnapshot snapshot;
+
+    private RegistryOpsProvider() {}
+
+    public static void update(@Nullable DynamicRegistryManager registryManager) {
+        if (registryManager == null) {
+            RegistryOpsProvider.clear();
+            return;
+        }
+
+        RegistryOpsSnapshot currentSnapshot = RegistryOpsProvider.snapshot;
+
+        if (currentSnapshot != null && currentSnapshot.registryManager() == registryManager) {
+            return;
+        }
+
+        RegistryOpsProvider.snapshot = new RegistryOpsSnapshot(
+            registryManager,
+            registryManager.getOps(NbtOps.INSTANCE),
+            registryManager.getOps(JsonOps.INSTANCE)
+        );
+    }
+
+    public static void clear() {
+        RegistryOpsProvider.snapshot = null;
+    }
+
+    public static DynamicOps<NbtElement> getNbtOps() {
+        return RegistryOpsProvider.getSnapshot().nbtOps();
+    }
+
+    public static DynamicOps<JsonElement> getJsonOps() {
+        return RegistryOpsProvider.getSnapshot().jsonOps();
+    }
+
+    private static RegistryOpsSnapshot getSnapshot() {
+        RegistryOpsSnapshot currentSnapshot = RegistryOpsProvider.snapshot;
+
+        if (currentSnapshot == null) {
+            throw new FormattingException("No registries available to encode with!");
+        }
+
+        return currentSnapshot;
+    }
+
+    private static record RegistryOpsSnapshot(DynamicRegistryManager registryManager, DynamicOps<NbtElement> nbtOps, DynamicOps<JsonElement> jsonOps) {}
+}
@@ -24,17 +24,12 @@
 
 package dev.fixyl.componentviewer.formatting;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 import com.mojang.serialization.Codec;
 
-import net.minecraft.client.MinecraftClient;
 import net.minecraft.nbt.NbtElement;
-import net.minecraft.nbt.NbtOps;
-import net.minecraft.nbt.visitor.NbtTextFormatter;
 import net.minecraft.text.Style;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
@@ -42,6 +37,7 @@ import net.minecraft.text.MutableText;
 
 import org.jetbrains.annotations.Nullable;
 
+import dev.fixyl.componentviewer.util.Fingerprints;
 import dev.fixyl.componentviewer.util.ResultCache;
 
 public class SnbtFormatter implements CodecBasedFormatter {
@@ -63,22 +59,21 @@ public class SnbtFormatter implements CodecBasedFormatter {
                 return linePrefix + SnbtFormatter.NO_CODEC_REPR;
             }
 
-            String formattedString = SnbtFormatter.getFormattedText(value, codec, indentation).getString();
+            // Unprefixed SNBT has always been separated by plain line feeds,
+            // while prefixed SNBT used the separator of the platform
+            String lineSeparator = (linePrefix.isEmpty()) ? "\n" : System.lineSeparator();
 
-            if (!linePrefix.isEmpty()) {
-                return linePrefix + formattedString.replace("\n", System.lineSeparator() + linePrefix);
-            }
-
-            return formattedString;
-        }, value, codec, indentation, linePrefix);
+            NbtElement nbtElement = SnbtFormatter.encode(value, codec);
+            return new SnbtVisitor<>(new StringLineWriter(indentation, linePrefix, lineSeparator), indentation).apply(nbtElement);
+        }, Fingerprints.of(value), codec, indentation, linePrefix);
     }
 
     @Override
     public <T> List<Text> codecToText(T value, @Nullable Codec<T> codec, int indentation, boolean colored, String linePrefix) {
         return Collections.unmodifiableList(this.textResultCache.cache(() -> {
             if (codec != null) {
-                Text text = SnbtFormatter.getFormattedText(value, codec, indentation);
-                return SnbtFormatter.convertToTextList(text, colored, linePrefix);
+                NbtElement nbtElement = SnbtFormatter.encode(value, codec);
+                return new SnbtVisitor<>(new TextLineWriter(indentation, colored, linePrefix), indentation).apply(nbtElement);
             }
 
             Text noCodecText = Text.literal(SnbtFormatter.NO_CODEC_REPR).fillStyle((colored) ? SnbtFormatter.NO_CODEC_REPR_STYLE : Formatter.NO_COLOR_STYLE);
@@ -93,49 +88,28 @@ public class SnbtFormatter implements CodecBasedFormatter {
             }
 
             return List.of(startOfLine.append(noCodecText));
-        }, value, codec, indentation, colored, linePrefix));
-    }
-
-    private static <T> Text getFormattedText(T value, Codec<T> codec, int indentation) {
-        String prefix = " ".repeat(indentation);
-
-        NbtTextFormatter nbtTextFormatter = new NbtTextFormatter(prefix);
-
-        NbtElement nbtElement = codec.encodeStart(MinecraftClient.getInstance().player.getRegistryManager().getOps(NbtOps.INSTANCE), value).getOrThrow(FormattingException::new);
-
-        return nbtTextFormatter.apply(nbtElement);
+        }, Fingerprints.of(value), codec, indentation, colored, linePrefix));
     }
 
-    private static List<Text> convertToTextList(Text text, boolean colored, String linePrefix) {
-        List<Text> textList = new ArrayList<>();
+    @Override
+    public <T> IncrementalFormatting codecToIncrementalText(T value, @Nullable Codec<T> codec, int indentation, boolean colored, String linePrefix) {
+        Object[] arguments = { Fingerprints.of(value), codec, indentation, colored, linePrefix };
 
-        MutableText startOfLine = Text.literal(linePrefix);
-        if (!colored) {
-            startOfLine.fillStyle(Formatter.NO_COLOR_STYLE);
+        if (codec == null || this.textResultCache.get(arguments) != null) {
+            return IncrementalFormatting.of(() -> this.codecToText(value, codec, indentation, colored, linePrefix));
         }
 
-        // This must be encapsulated in an array, otherwise
-        // the re-assigning inside the for-loop wouldn't work
-        MutableText[] textLine = { startOfLine.copy() };
-
-        text.visit((style, string) -> {
-            String[] stringArray = string.split("(?=\\n)|(?<=\\n)");
+        TextLineWriter lineWriter = new TextLineWriter(indentation, colored, linePrefix);
 
-            for (String stringSegment : stringArray) {
-                if (!stringSegment.equals("\n")) {
-                    textLine[0].append(Text.literal(stringSegment).fillStyle((colored) ? style : Formatter.NO_COLOR_STYLE));
-                    continue;
-                }
-
-                textList.add(textLine[0]);
-                textLine[0] = startOfLine.copy();
-            }
-
-            return Optional.empty();
-        }, Style.EMPTY);
-
-        textList.add(textLine[0]);
+        return IncrementalFormatting.of(
+            lineWriter,
+            () -> SnbtFormatter.encode(value, codec),
+            (nbtElement, incrementalFormatting) -> new SnbtVisitor<>(lineWriter, indentation).apply(nbtElement, incrementalFormatting),
+            result -> this.textResultCache.put(result, arguments)
+        );
+    }
 
-        return textList;
+    private static <T> NbtElement encode(T value, Codec<T> codec) {
+        return codec.encodeStart(RegistryOpsProvider.getNbtOps(), value).getOrThrow(FormattingException::new);
     }
 }
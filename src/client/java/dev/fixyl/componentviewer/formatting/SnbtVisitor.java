@@ -0,0 +1,421 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package dev.fixyl.componentviewer.formatting;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
+
+import net.minecraft.nbt.NbtByte;
+import net.minecraft.nbt.NbtByteArray;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtDouble;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtEnd;
+import net.minecraft.nbt.NbtFloat;
+import net.minecraft.nbt.NbtInt;
+import net.minecraft.nbt.NbtIntArray;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.nbt.NbtLong;
+import net.minecraft.nbt.NbtLongArray;
+import net.minecraft.nbt.NbtShort;
+import net.minecraft.nbt.NbtString;
+import net.minecraft.nbt.visitor.NbtElementVisitor;
+import net.minecraft.text.Style;
+import net.minecraft.util.Formatting;
+
+import org.jetbrains.annotations.Nullable;
+
+import dev.fixyl.componentviewer.formatting.Chunks.ChunkFormatter;
+import dev.fixyl.componentviewer.formatting.Chunks.Structure;
+import dev.fixyl.componentviewer.formatting.IncrementalFormatting.ValuesFormatter;
+
+public class SnbtVisitor<R> implements NbtElementVisitor {
+    private static final Pattern SIMPLE_NAME_PATTERN = Pattern.compile("[A-Za-z0-9._+-]+");
+    private static final int MAX_SINGLE_LINE_LIST_SIZE = 8;
+
+    private static final Style NAME_STYLE = Style.EMPTY.withColor(Formatting.AQUA);
+    private static final Style STRING_STYLE = Style.EMPTY.withColor(Formatting.GREEN);
+    private static final Style NUMBER_STYLE = Style.EMPTY.withColor(Formatting.GOLD);
+    private static final Style TYPE_SUFFIX_STYLE = Style.EMPTY.withColor(Formatting.RED);
+
+    private static final Structure<NbtElement> STRUCTURE = new Structure<>() {
+        @Override
+        public Iterable<NbtElement> getChildren(NbtElement nbtElement) {
+            if (nbtElement instanceof NbtCompound compound) {
+                return () -> compound.getKeys().stream().map(compound::get).iterator();
+            }
+
+            return (nbtElement instanceof NbtList list) ? list : List.of();
+        }
+
+        @Override
+        public int getNumberOfValues(NbtElement nbtElement) {
+            if (nbtElement instanceof NbtByteArray byteArray) {
+                return byteArray.getByteArray().length;
+            } else if (nbtElement instanceof NbtIntArray intArray) {
+                return intArray.getIntArray().length;
+            } else if (nbtElement instanceof NbtLongArray longArray) {
+                return longArray.getLongArray().length;
+            } else if (nbtElement instanceof NbtString string) {
+                return string.asString().length() / Chunks.CHARACTERS_PER_VALUE;
+            }
+
+            return 0;
+        }
+    };
+
+    private final LineWriter<R> lineWriter;
+    private final boolean multiLine;
+    private final BooleanSupplier isCancelled;
+
+    private int indentLevel;
+    private int chunkWeight;
+    @Nullable private IncrementalFormatting incrementalFormatting;
+
+    public SnbtVisitor(LineWriter<R> lineWriter, int indentation) {
+        this(lineWriter, indentation > 0, 0, 0, null, FormattingCancellation.current());
+    }
+
+    private SnbtVisitor(LineWriter<R> lineWriter, boolean multiLine, int indentLevel, int chunkWeight, @Nullable IncrementalFormatting incrementalFormatting, BooleanSupplier isCancelled) {
+        this.lineWriter = lineWriter;
+        this.multiLine = multiLine;
+        this.isCancelled = isCancelled;
+        this.indentLevel = indentLevel;
+        this.chunkWeight = chunkWeight;
+        this.incrementalFormatting = incrementalFormatting;
+    }
+
+    public void apply(NbtElement nbtElement, IncrementalFormatting incrementalFormatting) {
+        this.indentLevel = 0;
+        this.chunkWeight = IncrementalFormatting.CHUNK_WEIGHT;
+        this.incrementalFormatting = incrementalFormatting;
+
+        nbtElement.accept(this);
+    }
+
+    public R apply(NbtElement nbtElement) {
+        this.indentLevel = 0;
+        this.incrementalFormatting = null;
+        this.chunkWeight = ParallelFormatting.getChunkWeight(nbtElement, SnbtVisitor.STRUCTURE);
+
+        if (this.chunkWeight > 0) {
+            ParallelFormatting.invoke(() -> nbtElement.accept(this));
+        } else {
+            nbtElement.accept(this);
+        }
+
+        return this.lineWriter.finish();
+    }
+
+    @Override
+    public void visitString(NbtString element) {
+        String string = element.asString();
+        String quotedString = NbtString.escape(string);
+
+        if (Chunks.canSplitIntoSteps(this.incrementalFormatting, this.chunkWeight, string.length() / Chunks.CHARACTERS_PER_VALUE)) {
+            String quote = quotedString.substring(0, 1);
+            String content = quotedString.substring(1, quotedString.length() - 1);
+
+            this.append(quote, Style.EMPTY);
+            this.incrementalFormatting.scheduleCharacters(
+                content,
+                this.chunkWeight,
+                (start, end) -> this.appendMultiLine(content, start, end, SnbtVisitor.STRING_STYLE),
+                () -> this.append(quote, Style.EMPTY)
+            );
+
+            return;
+        }
+
+        this.appendQuoted(quotedString, SnbtVisitor.STRING_STYLE);
+    }
+
+    @Override
+    public void visitByte(NbtByte element) {
+        this.appendNumber(String.valueOf(element.byteValue()), "b");
+    }
+
+    @Override
+    public void visitShort(NbtShort element) {
+        this.appendNumber(String.valueOf(element.shortValue()), "s");
+    }
+
+    @Override
+    public void visitInt(NbtInt element) {
+        this.append(String.valueOf(element.intValue()), SnbtVisitor.NUMBER_STYLE);
+    }
+
+    @Override
+    public void visitLong(NbtLong element) {
+        this.appendNumber(String.valueOf(element.longValue()), "L");
+    }
+
+    @Override
+    public void visitFloat(NbtFloat element) {
+        this.appendNumber(String.valueOf(element.floatValue()), "f");
+    }
+
+    @Override
+    public void visitDouble(NbtDouble element) {
+        this.appendNumber(String.valueOf(element.doubleValue()), "d");
+    }
+
+    @Override
+    public void visitByteArray(NbtByteArray element) {
+        byte[] byteArray = element.getByteArray();
+
+        this.appendArrayStart("B");
+        this.visitArrayValues(byteArray.length, index -> this.appendNumber(String.valueOf(byteArray[index]), "B"));
+    }
+
+    @Override
+    public void visitIntArray(NbtIntArray element) {
+        int[] intArray = element.getIntArray();
+
+        this.appendArrayStart("I");
+        this.visitArrayValues(intArray.length, index -> this.append(String.valueOf(intArray[index]), SnbtVisitor.NUMBER_STYLE));
+    }
+
+    @Override
+    public void visitLongArray(NbtLongArray element) {
+        long[] longArray = element.getLongArray();
+
+        this.appendArrayStart("L");
+        this.visitArrayValues(longArray.length, index -> this.appendNumber(String.valueOf(longArray[index]), "L"));
+    }
+
+    @Override
+    public void visitList(NbtList element) {
+        if (element.isEmpty()) {
+            this.append("[]", Style.EMPTY);
+            return;
+        }
+
+        this.append("[", Style.EMPTY);
+
+        // Short lists of numbers are kept on a single line, like vanilla does
+        if (SnbtVisitor.isSingleLineType(element.getHeldType()) && element.size() <= SnbtVisitor.MAX_SINGLE_LINE_LIST_SIZE) {
+            for (int index = 0; index < element.size(); index++) {
+                if (index != 0) {
+                    this.append(", ", Style.EMPTY);
+                }
+
+                element.get(index).accept(this);
+            }
+
+            this.append("]", Style.EMPTY);
+            return;
+        }
+
+        this.indentLevel++;
+        this.createNewLine();
+
+        if (this.chunkWeight > 0) {
+            this.visitInChunks(element.size(), element::get, (visitor, start, end) -> visitor.visitListEntries(element, start, end), "]");
+            return;
+        }
+
+        this.visitListEntries(element, 0, element.size());
+        this.appendClosingBracket("]");
+    }
+
+    @Override
+    public void visitCompound(NbtCompound compound) {
+        if (compound.isEmpty()) {
+            this.append("{}", Style.EMPTY);
+            return;
+        }
+
+        this.append("{", Style.EMPTY);
+
+        this.indentLevel++;
+        this.createNewLine();
+
+        if (this.chunkWeight > 0) {
+            List<String> keys = List.copyOf(compound.getKeys());
+            this.visitInChunks(keys.size(), index -> compound.get(keys.get(index)), (visitor, start, end) -> visitor.visitCompoundEntries(compound, keys.subList(start, end)), "}");
+            return;
+        }
+
+        this.visitCompoundEntries(compound, compound.getKeys());
+        this.appendClosingBracket("}");
+    }
+
+    @Override
+    public void visitEnd(NbtEnd element) {
+        this.append("END", Style.EMPTY);
+    }
+
+    private void visitArrayValues(int length, IntConsumer valueVisitor) {
+        ValuesFormatter valuesFormatter = (start, end) -> {
+            for (int index = start; index < end; index++) {
+                this.append(" ", Style.EMPTY);
+                valueVisitor.accept(index);
+                this.appendArraySeparator(index, length);
+            }
+        };
+
+        if (Chunks.canSplitIntoSteps(this.incrementalFormatting, this.chunkWeight, length)) {
+            this.incrementalFormatting.scheduleValues(length, this.chunkWeight, valuesFormatter, () -> this.append("]", Style.EMPTY));
+            return;
+        }
+
+        valuesFormatter.format(0, length);
+        this.append("]", Style.EMPTY);
+    }
+
+    private void visitListEntries(NbtList list, int start, int end) {
+        for (int index = start; index < end; index++) {
+            FormattingCancellation.check(this.isCancelled);
+            list.get(index).accept(this);
+
+            if (index != end - 1) {
+                this.appendEntrySeparator();
+            }
+        }
+    }
+
+    private void visitCompoundEntries(NbtCompound compound, Collection<String> keys) {
+        Iterator<String> iterator = keys.iterator();
+        while (iterator.hasNext()) {
+            String key = iterator.next();
+
+            FormattingCancellation.check(this.isCancelled);
+            this.appendName(key);
+            this.append(": ", Style.EMPTY);
+            compound.get(key).accept(this);
+
+            if (iterator.hasNext()) {
+                this.appendEntrySeparator();
+            }
+        }
+    }
+
+    private void visitInChunks(int numberOfEntries, IntFunction<NbtElement> entries, EntriesVisitor<R> entriesVisitor, String closingBracket) {
+        int currentIndentLevel = this.indentLevel;
+        int currentChunkWeight = this.chunkWeight;
+        IncrementalFormatting currentIncrementalFormatting = this.incrementalFormatting;
+
+        ChunkFormatter<R> chunkFormatter = (chunkLineWriter, start, end, heavy) -> entriesVisitor.visit(
+            new SnbtVisitor<>(chunkLineWriter, this.multiLine, currentIndentLevel, (heavy) ? currentChunkWeight : 0, currentIncrementalFormatting, this.isCancelled),
+            start,
+            end
+        );
+
+        Chunks.formatInChunks(this.lineWriter, numberOfEntries, entries, SnbtVisitor.STRUCTURE, currentChunkWeight, currentIncrementalFormatting, chunkFormatter, this::appendEntrySeparator, () -> this.appendClosingBracket(closingBracket));
+    }
+
+    private void appendClosingBracket(String closingBracket) {
+        this.indentLevel--;
+        this.createNewLine();
+
+        this.append(closingBracket, Style.EMPTY);
+    }
+
+    private void appendName(String name) {
+        if (SnbtVisitor.SIMPLE_NAME_PATTERN.matcher(name).matches()) {
+            this.append(name, SnbtVisitor.NAME_STYLE);
+            return;
+        }
+
+        this.appendQuoted(NbtString.escape(name), SnbtVisitor.NAME_STYLE);
+    }
+
+    private void appendQuoted(String quotedString, Style style) {
+        String quote = quotedString.substring(0, 1);
+
+        this.append(quote, Style.EMPTY);
+        this.appendMultiLine(quotedString, 1, quotedString.length() - 1, style);
+        this.append(quote, Style.EMPTY);
+    }
+
+    private void appendNumber(String number, String typeSuffix) {
+        this.append(number, SnbtVisitor.NUMBER_STYLE);
+        this.append(typeSuffix, SnbtVisitor.TYPE_SUFFIX_STYLE);
+    }
+
+    private void appendArrayStart(String typeSuffix) {
+        this.append("[", Style.EMPTY);
+        this.append(typeSuffix, SnbtVisitor.TYPE_SUFFIX_STYLE);
+        this.append(";", Style.EMPTY);
+    }
+
+    private void appendArraySeparator(int index, int length) {
+        if (index != length - 1) {
+            this.append(",", Style.EMPTY);
+        }
+    }
+
+    private void appendEntrySeparator() {
+        this.append(",", Style.EMPTY);
+
+        if (this.multiLine) {
+            this.lineWriter.newLine(this.indentLevel);
+        } else {
+            this.append(" ", Style.EMPTY);
+        }
+    }
+
+    private void createNewLine() {
+        if (this.multiLine) {
+            this.lineWriter.newLine(this.indentLevel);
+        }
+    }
+
+    // Strings may contain line breaks, which have to
+    // end up on a line of their own without indentation
+    private void appendMultiLine(String string, int start, int end, Style style) {
+        int lineStart = start;
+        int lineBreak;
+
+        while ((lineBreak = string.indexOf('\n', lineStart)) != -1 && lineBreak < end) {
+            this.lineWriter.append(string, lineStart, lineBreak, style);
+            this.lineWriter.newLine(0);
+
+            lineStart = lineBreak + 1;
+        }
+
+        this.lineWriter.append(string, lineStart, end, style);
+    }
+
+    private void append(String content, Style style) {
+        this.lineWriter.append(content, style);
+    }
+
+    private static boolean isSingleLineType(byte type) {
+        return type >= NbtElement.BYTE_TYPE && type <= NbtElement.DOUBLE_TYPE;
+    }
+
+    @FunctionalInterface
+    private static interface EntriesVisitor<R> {
+        public void visit(SnbtVisitor<R> visitor, int start, int end);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.fixyl.componentviewer.formatting;
+
+import net.minecraft.text.Style;
+
+public class StringLineWriter extends LineWriter<String> {
+    private final StringBuilder stringBuilder;
+    private final String lineSeparator;
+
+    public StringLineWriter(int indentation, String linePrefix, String lineSeparator) {
+        super(indentation, linePrefix);
+
+        this.stringBuilder = new StringBuilder(linePrefix);
+        this.lineSeparator = lineSeparator;
+    }
+
+    private StringLineWriter(StringLineWriter stringLineWriter) {
+        super(stringLineWriter);
+
+        this.stringBuilder = new StringBuilder();
+        this.lineSeparator = stringLineWriter.lineSeparator;
+    }
+
+    @Override
+    public StringLineWriter append(CharSequence content, Style style) {
+        this.stringBuilder.append(content);
+
+        return this;
+    }
+
+    @Override
+    public StringLineWriter append(CharSequence content, int start, int end, Style style) {
+        this.stringBuilder.append(content, start, end);
+
+        return this;
+    }
+
+    @Override
+    public StringLineWriter newLine(int indentLevel) {
+        this.stringBuilder.append(this.lineSeparator).append(this.getNewLinePrefix(indentLevel));
+
+        return this;
+    }
+
+    @Override
+    public String finish() {
+        return this.stringBuilder.toString();
+    }
+
+    @Override
+    public StringLineWriter createFragment() {
+        return new StringLineWriter(this);
+    }
+
+    @Override
+    public StringLineWriter appendFragment(LineWriter<String> fragment) {
+        this.stringBuilder.append(((StringLineWriter) fragment).stringBuilder);
+
+        return this;
+    }
+}
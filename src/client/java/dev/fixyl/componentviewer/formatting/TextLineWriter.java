@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.fixyl.componentviewer.formatting;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.minecraft.text.MutableText;
+import net.minecraft.text.Style;
+import net.minecraft.text.Text;
+
+public class TextLineWriter extends LineWriter<List<Text>> {
+    private final boolean colored;
+    private final List<Text> textList;
+
+    private MutableText textLine;
+    private boolean isLineEmpty;
+
+    public TextLineWriter(int indentation, boolean colored, String linePrefix) {
+        super(indentation, linePrefix);
+
+        this.colored = colored;
+        this.textList = new ArrayList<>();
+
+        this.startLine(linePrefix);
+    }
+
+    private TextLineWriter(TextLineWriter textLineWriter) {
+        super(textLineWriter);
+
+        this.colored = textLineWriter.colored;
+        this.textList = new ArrayList<>();
+
+        this.startLine("");
+    }
+
+    @Override
+    public TextLineWriter append(CharSequence content, Style style) {
+        if (content.isEmpty()) {
+            return this;
+        }
+
+        this.textLine.append(Text.literal(content.toString()).fillStyle((this.colored) ? style : Formatter.NO_COLOR_STYLE));
+        this.isLineEmpty = false;
+
+        return this;
+    }
+
+    @Override
+    public TextLineWriter newLine(int indentLevel) {
+        this.textList.add(this.textLine);
+        this.startLine(this.getNewLinePrefix(indentLevel));
+
+        return this;
+    }
+
+    @Override
+    public List<Text> finish() {
+        if (!this.isLineEmpty) {
+            this.textList.add(this.textLine);
+        }
+
+        return this.textList;
+    }
+
+    // Only the lines which have been completed by a line break
+    public List<Text> getFinishedLines() {
+        return Collections.unmodifiableList(this.textList);
+    }
+
+    @Override
+    public TextLineWriter createFragment() {
+        return new TextLineWriter(this);
+    }
+
+    @Override
+    public TextLineWriter appendFragment(LineWriter<List<Text>> fragment) {
+        TextLineWriter textFragment = (TextLineWriter) fragment;
+
+        if (textFragment.textList.isEmpty()) {
+            this.appendToLine(textFragment.textLine);
+            this.isLineEmpty &= textFragment.isLineEmpty;
+
+            return this;
+        }
+
+        // Only the first line of the fragment continues the current line,
+        // the last one becomes the line which is continued from now on
+        this.appendToLine(textFragment.textList.getFirst());
+        this.textList.add(this.textLine);
+        this.textList.addAll(textFragment.textList.subList(1, textFragment.textList.size()));
+
+        this.textLine = textFragment.textLine;
+        this.isLineEmpty = textFragment.isLineEmpty;
+
+        return this;
+    }
+
+    private void appendToLine(Text fragmentLine) {
+        for (Text text : fragmentLine.getSiblings()) {
+            this.textLine.append(text);
+        }
+    }
+
+    private void startLine(String prefix) {
+        this.textLine = Text.literal(prefix);
+
+        if (!this.colored) {
+            this.textLine.fillStyle(Formatter.NO_COLOR_STYLE);
+        }
+
+        this.isLineEmpty = prefix.isEmpty();
+    }
+}
@@ -43,9 +43,15 @@ public class TooltipConfigScreen extends ConfigScreen {
             configs.tooltipPurpose,
             configs.tooltipComponents,
             configs.tooltipComponentValues,
+            configs.tooltipSelectionWindow,
             configs.tooltipFormatting,
             configs.tooltipIndentation,
             configs.tooltipColoredFormatting,
+            configs.tooltipParallelThreshold,
+            configs.tooltipScheduling,
+            configs.tooltipFrameBudget,
+            configs.tooltipWarmup,
+            configs.tooltipPrefetching,
             configs.tooltipAdvancedTooltips
         );
     }
@@ -22,36 +22,135 @@
  * SOFTWARE.
  */
 
+
 package dev.fixyl.componentviewer.util;
 
-import java.util.Objects;
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.function.Supplier;
 
+import org.jetbrains.annotations.Nullable;
+
 public class ResultCache<T> {
-    private T result;
-    private int hashCode;
-    private boolean empty;
+    public static final int DEFAULT_CAPACITY = 32;
+
+    // All caches ever created, so they can be cleared together
+    // without keeping caches of discarded objects alive
+    private static final Set<ResultCache<?>> INSTANCES = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private final int capacity;
+    private final Map<List<Object>, SoftReference<T>> results;
+
+    private long hits;
+    private long misses;
 
     public ResultCache() {
-        this.empty = true;
+        this(ResultCache.DEFAULT_CAPACITY);
+    }
+
+    public ResultCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(String.format("Capacity must be at least one, but was %s", capacity));
+        }
+
+        this.capacity = capacity;
+
+        // Access ordered, so the least recently used result is evicted first
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, SoftReference<T>> eldest) {
+                return this.size() > ResultCache.this.capacity;
+            }
+        };
+
+        synchronized (ResultCache.INSTANCES) {
+            ResultCache.INSTANCES.add(this);
+        }
     }
 
     public T cache(Supplier<T> resultSupplier, Object... arguments) {
-        int newHashCode = Objects.hash(arguments);
+        List<Object> key = Arrays.asList(arguments);
+        T result;
+
+        synchronized (this.results) {
+            SoftReference<T> resultReference = this.results.get(key);
+
+            // Results are only softly referenced, so the garbage
+            // collector may reclaim them when memory runs low
+            result = (resultReference == null) ? null : resultReference.get();
+
+            if (result != null) {
+                this.hits++;
+                return result;
+            }
 
-        if (!this.empty && newHashCode == this.hashCode) {
-            return this.result;
+            this.misses++;
         }
 
-        this.result = resultSupplier.get();
-        this.hashCode = newHashCode;
-        this.empty = false;
+        // The result is computed outside of the lock, as computing
+        // it may take a while and may use other caches as well
+        result = resultSupplier.get();
 
-        return this.result;
+        synchronized (this.results) {
+            this.results.put(key, new SoftReference<>(result));
+        }
+
+        return result;
+    }
+
+    public @Nullable T get(Object... arguments) {
+        synchronized (this.results) {
+            SoftReference<T> resultReference = this.results.get(Arrays.asList(arguments));
+
+            return (resultReference == null) ? null : resultReference.get();
+        }
+    }
+
+    public void put(T result, Object... arguments) {
+        synchronized (this.results) {
+            this.results.put(Arrays.asList(arguments), new SoftReference<>(result));
+        }
     }
 
     public void clear() {
-        this.empty = true;
-        this.result = null;
+        synchronized (this.results) {
+            this.results.clear();
+        }
+    }
+
+    public static void clearAll() {
+        synchronized (ResultCache.INSTANCES) {
+            for (ResultCache<?> resultCache : ResultCache.INSTANCES) {
+                resultCache.clear();
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (this.results) {
+            return this.results.size();
+        }
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    public long getHits() {
+        synchronized (this.results) {
+            return this.hits;
+        }
+    }
+
+    public long getMisses() {
+        synchronized (this.results) {
+            return this.misses;
+        }
     }
 }
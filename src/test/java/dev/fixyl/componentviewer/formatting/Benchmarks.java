@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.fixyl.componentviewer.formatting;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+
+// Measurements are only meant to compare two implementations run by the same
+// JVM on the same machine, their absolute numbers carry little meaning
+final class Benchmarks {
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 500;
+
+    private Benchmarks() {}
+
+    public static double measureMicrosPerRun(Runnable run) {
+        for (int iteration = 0; iteration < Benchmarks.WARMUP_ITERATIONS; iteration++) {
+            run.run();
+        }
+
+        long start = System.nanoTime();
+
+        for (int iteration = 0; iteration < Benchmarks.MEASURED_ITERATIONS; iteration++) {
+            run.run();
+        }
+
+        return (System.nanoTime() - start) / 1000.0 / Benchmarks.MEASURED_ITERATIONS;
+    }
+
+    public static long measureAllocatedBytesPerRun(Runnable run) {
+        ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (int iteration = 0; iteration < Benchmarks.WARMUP_ITERATIONS; iteration++) {
+            run.run();
+        }
+
+        long start = threadBean.getCurrentThreadAllocatedBytes();
+
+        for (int iteration = 0; iteration < Benchmarks.MEASURED_ITERATIONS; iteration++) {
+            run.run();
+        }
+
+        return (threadBean.getCurrentThreadAllocatedBytes() - start) / Benchmarks.MEASURED_ITERATIONS;
+    }
+
+    public static void report(String name, String baselineName, double baseline, String currentName, double current, String unit) {
+        System.out.printf("%s: %s %.1f %s, %s %.1f %s (%.2fx)%n", name, baselineName, baseline, unit, currentName, current, unit, baseline / current);
+    }
+}
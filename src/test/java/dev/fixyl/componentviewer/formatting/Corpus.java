@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.fixyl.componentviewer.formatting;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+final class Corpus {
+    private static final String OBJECT_FORMATTER_CORPUS = "object_formatter_corpus.txt";
+    private static final String JSON_FORMATTER_CORPUS = "json_formatter_corpus.txt";
+    private static final String ENTRY_END = "====";
+
+    // Fragments which are tricky to tokenize, as their tokens depend on the surrounding characters
+    private static final String[] FRAGMENTS = {
+        "true", "false", "null", "keybind{", "literal{", "pattern{", "1", "1.5", "-3", "-", ".", "ff", "0x1A", "e", "_",
+        "a", "{", "}", "[", "]", "(", ")", ", ", "; ", "=", "'", "\"", "\\", " ", "  ", "é", "٣", "½", "𝟘", "\uD83D", "\uDCA1"
+    };
+
+    private Corpus() {}
+
+    // String representations of real component values, one per line
+    public static List<String> readObjectFormatterCorpus() {
+        return Corpus.readLines(Corpus.OBJECT_FORMATTER_CORPUS);
+    }
+
+    // Encoded component values and some edge cases of JSON, one per line
+    public static List<JsonElement> readJsonFormatterCorpus() {
+        return Corpus.readLines(Corpus.JSON_FORMATTER_CORPUS).stream().map(JsonParser::parseString).toList();
+    }
+
+    // Multi-line entries, each of which is ended by a line of its own
+    public static List<String> readEntries(String resourceName) {
+        List<String> entries = new ArrayList<>();
+        List<String> entryLines = new ArrayList<>();
+
+        for (String line : Corpus.readLines(resourceName)) {
+            if (!line.equals(Corpus.ENTRY_END)) {
+                entryLines.add(line);
+                continue;
+            }
+
+            entries.add(String.join("\n", entryLines));
+            entryLines.clear();
+        }
+
+        return entries;
+    }
+
+    private static List<String> readLines(String resourceName) {
+        List<String> lines = new ArrayList<>();
+
+        try (InputStream inputStream = Corpus.class.getResourceAsStream(resourceName);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return lines;
+    }
+
+    // Always the same strings for the same seed, so failures can be reproduced
+    public static List<String> generateStrings(long seed, int numberOfStrings, int maxFragments) {
+        Random random = new Random(seed);
+        List<String> strings = new ArrayList<>(numberOfStrings);
+
+        for (int index = 0; index < numberOfStrings; index++) {
+            StringBuilder stringBuilder = new StringBuilder();
+            int numberOfFragments = random.nextInt(maxFragments + 1);
+
+            for (int fragment = 0; fragment < numberOfFragments; fragment++) {
+                stringBuilder.append(Corpus.FRAGMENTS[random.nextInt(Corpus.FRAGMENTS.length)]);
+            }
+
+            strings.add(stringBuilder.toString());
+        }
+
+        return strings;
+    }
+
+    // A single large value, like the string representation of a full shulker box or book
+    public static String createLargeValue(int minLength) {
+        return Corpus.createLargeValue(minLength, value -> true);
+    }
+
+    // Made of the values of the corpus which pass the filter only
+    public static String createLargeValue(int minLength, Predicate<String> filter) {
+        List<String> corpus = Corpus.readObjectFormatterCorpus().stream().filter(filter).toList();
+        StringBuilder stringBuilder = new StringBuilder("[");
+
+        for (int index = 0; stringBuilder.length() < minLength; index++) {
+            if (index != 0) {
+                stringBuilder.append(", ");
+            }
+
+            stringBuilder.append(corpus.get(index % corpus.size()));
+        }
+
+        return stringBuilder.append(']').toString();
+    }
+
+    // A single large JSON tree, like the encoded components of a full shulker box
+    public static JsonArray createLargeJsonValue(int numberOfElements) {
+        List<JsonElement> corpus = Corpus.readJsonFormatterCorpus();
+        JsonArray jsonArray = new JsonArray(numberOfElements);
+
+        for (int index = 0; index < numberOfElements; index++) {
+            jsonArray.add(corpus.get(index % corpus.size()));
+        }
+
+        return jsonArray;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package dev.fixyl.componentviewer.formatting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.Dynamic;
+import com.mojang.serialization.JsonOps;
+
+import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.text.Text;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class JsonFormatterTest {
+    // Outputs of the JSON format from before strings were written without going through text,
+    // with the formats of each value separated by a line of their own
+    private static final String EXPECTED_OUTPUTS = "json_formatter_expected.txt";
+    private static final String FORMAT_SEPARATOR = "----";
+    private static final String CONTROL_CHARACTERS = "\u0000\u0001\u001f\b\t\n\f\r\u007f";
+
+    @BeforeAll
+    static void provideRegistries() {
+        RegistryOpsProvider.update(DynamicRegistryManager.EMPTY);
+    }
+
+    @Test
+    void corpusOutputsMatchExpectedOutputs() {
+        List<JsonElement> corpus = Corpus.readJsonFormatterCorpus();
+        List<String> expectedOutputs = Corpus.readEntries(JsonFormatterTest.EXPECTED_OUTPUTS);
+
+        assertEquals(corpus.size(), expectedOutputs.size());
+
+        for (int index = 0; index < corpus.size(); index++) {
+            JsonElement jsonElement = corpus.get(index);
+            assertEquals(expectedOutputs.get(index), JsonFormatterTest.formatInAllWays(new JsonFormatter(), jsonElement), () -> String.format("Output differs for %s", jsonElement));
+        }
+    }
+
+    // The string output used to be the uncolored text output joined by line separators
+    @Test
+    void stringOutputMatchesTextOutput() {
+        for (JsonElement jsonElement : JsonFormatterTest.createEscapingCorpus()) {
+            for (int indentation : new int[] { 0, 2, 4 }) {
+                for (String linePrefix : new String[] { "", "> " }) {
+                    JsonFormatter formatter = new JsonFormatter();
+                    Dynamic<?> value = JsonFormatterTest.toValue(jsonElement);
+
+                    String expected = formatter.codecToText(value, Codec.PASSTHROUGH, indentation, false, linePrefix).stream()
+                        .map(Text::getString)
+                        .collect(Collectors.joining(System.lineSeparator()));
+
+                    assertEquals(expected, formatter.codecToString(value, Codec.PASSTHROUGH, indentation, linePrefix));
+                }
+            }
+        }
+    }
+
+    // Copied JSON has to stay valid, whatever the keys and strings contain
+    @Test
+    void stringOutputParsesBackIntoSameJson() {
+        for (JsonElement jsonElement : JsonFormatterTest.createEscapingCorpus()) {
+            for (int indentation : new int[] { 0, 2 }) {
+                String output = new JsonFormatter().codecToString(JsonFormatterTest.toValue(jsonElement), Codec.PASSTHROUGH, indentation, "");
+                assertEquals(jsonElement, JsonParser.parseString(output), () -> String.format("Output doesn't parse back: %s", output));
+            }
+        }
+    }
+
+    @Test
+    void controlCharactersAreEscaped() {
+        JsonObject jsonObject = new JsonObject();
+        jsonObject.addProperty(JsonFormatterTest.CONTROL_CHARACTERS + "\"\\", JsonFormatterTest.CONTROL_CHARACTERS + "\"\\");
+
+        String escaped = "\\u0000\\u0001\\u001f\\b\\t\\n\\f\\r\u007f\\\"\\\\";
+
+        assertEquals(
+            String.format("{\"%s\": \"%s\"}", escaped, escaped),
+            new JsonFormatter().codecToString(JsonFormatterTest.toValue(jsonObject), Codec.PASSTHROUGH, 0, "")
+        );
+    }
+
+    // Covers the single-line and the indented layout, both for strings and text
+    private static String formatInAllWays(JsonFormatter formatter, JsonElement jsonElement) {
+        Dynamic<?> value = JsonFormatterTest.toValue(jsonElement);
+
+        return String.join("\n",
+            formatter.codecToString(value, Codec.PASSTHROUGH, 0, "").replace(System.lineSeparator(), "\n"),
+            JsonFormatterTest.FORMAT_SEPARATOR,
+            formatter.codecToString(value, Codec.PASSTHROUGH, 2, "> ").replace(System.lineSeparator(), "\n"),
+            JsonFormatterTest.FORMAT_SEPARATOR,
+            formatter.codecToText(value, Codec.PASSTHROUGH, 4, true, "").stream().map(Text::getString).collect(Collectors.joining("\n"))
+        );
+    }
+
+    // The corpus with strings and keys full of characters which have to be escaped
+    private static List<JsonElement> createEscapingCorpus() {
+        List<JsonElement> corpus = new ArrayList<>(Corpus.readJsonFormatterCorpus());
+        List<String> strings = Corpus.generateStrings(6, 200, 8);
+
+        for (int index = 0; index < strings.size(); index += 2) {
+            JsonObject jsonObject = new JsonObject();
+            jsonObject.addProperty(strings.get(index) + JsonFormatterTest.CONTROL_CHARACTERS.charAt(index % JsonFormatterTest.CONTROL_CHARACTERS.length()), strings.get(index + 1));
+            jsonObject.add("control", new JsonPrimitive(JsonFormatterTest.CONTROL_CHARACTERS + strings.get(index + 1)));
+            corpus.add(jsonObject);
+        }
+
+        return corpus;
+    }
+
+    private static Dynamic<?> toValue(JsonElement jsonElement) {
+        return new Dynamic<>(JsonOps.INSTANCE, jsonElement);
+    }
+}
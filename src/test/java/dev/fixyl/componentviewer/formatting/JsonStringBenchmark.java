@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package dev.fixyl.componentviewer.formatting;
+
+import java.util.stream.Collectors;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.Dynamic;
+import com.mojang.serialization.JsonOps;
+
+import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.text.Text;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+// Run with ./gradlew benchmark
+@Tag("benchmark")
+class JsonStringBenchmark {
+    @Test
+    void formatLargeValueAsString() {
+        RegistryOpsProvider.update(DynamicRegistryManager.EMPTY);
+
+        Dynamic<?> largeValue = new Dynamic<>(JsonOps.INSTANCE, Corpus.createLargeJsonValue(750));
+        int length = new JsonFormatter().codecToString(largeValue, Codec.PASSTHROUGH, 2, "").length();
+
+        // A new formatter each run, as the results are cached per formatter.
+        // Text lines joined afterwards, like the string output was made before
+        Runnable text = () -> new JsonFormatter().codecToText(largeValue, Codec.PASSTHROUGH, 2, false, "").stream()
+            .map(Text::getString)
+            .collect(Collectors.joining(System.lineSeparator()));
+        Runnable string = () -> new JsonFormatter().codecToString(largeValue, Codec.PASSTHROUGH, 2, "");
+
+        Benchmarks.report(
+            "Formatting " + length + " characters of JSON as a string",
+            "text", Benchmarks.measureMicrosPerRun(text),
+            "string", Benchmarks.measureMicrosPerRun(string),
+            "us"
+        );
+        Benchmarks.report(
+            "Bytes allocated formatting " + length + " characters of JSON as a string",
+            "text", Benchmarks.measureAllocatedBytesPerRun(text),
+            "string", Benchmarks.measureAllocatedBytesPerRun(string),
+            "B"
+        );
+    }
+}
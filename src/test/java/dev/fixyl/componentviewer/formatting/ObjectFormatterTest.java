@@ -0,0 +1,215 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.fixyl.componentviewer.formatting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import net.minecraft.component.Component;
+import net.minecraft.text.Text;
+
+import org.junit.jupiter.api.Test;
+
+class ObjectFormatterTest {
+    // Outputs of the Object format as it was originally, before its tokenizer and
+    // layout were reworked, with the formats of each value separated by a line of their own
+    private static final String EXPECTED_OUTPUTS = "object_formatter_expected.txt";
+    private static final String FORMAT_SEPARATOR = "----";
+
+    @Test
+    void corpusOutputsMatchExpectedOutputs() {
+        List<String> corpus = Corpus.readObjectFormatterCorpus();
+        List<String> expectedOutputs = Corpus.readEntries(ObjectFormatterTest.EXPECTED_OUTPUTS);
+
+        assertEquals(corpus.size(), expectedOutputs.size());
+
+        for (int index = 0; index < corpus.size(); index++) {
+            String value = corpus.get(index);
+            assertEquals(expectedOutputs.get(index), ObjectFormatterTest.formatInAllWays(new ObjectFormatter(), value), () -> String.format("Output differs for \"%s\"", value));
+        }
+    }
+
+    // The benchmark baseline has to produce the same outputs to be comparable
+    @Test
+    void recordTokenFormatterMatchesExpectedOutputs() {
+        List<String> corpus = Corpus.readObjectFormatterCorpus();
+        List<String> expectedOutputs = Corpus.readEntries(ObjectFormatterTest.EXPECTED_OUTPUTS);
+
+        for (int index = 0; index < corpus.size(); index++) {
+            String value = corpus.get(index);
+            assertEquals(expectedOutputs.get(index), ObjectFormatterTest.formatInAllWays(new RecordTokenObjectFormatter(), value), () -> String.format("Output differs for \"%s\"", value));
+        }
+    }
+
+    @Test
+    void nestedRecordsAreWalked() {
+        Outer value = new Outer("name", new Inner(1, 2.5f), List.of(new Inner(-3, 0.0f)));
+
+        assertEquals("Outer[name=\"name\", inner=Inner[count=1, scale=2.5], inners=[Inner[count=-3, scale=0.0]]]", ObjectFormatterTest.formatValue(value, 0));
+        assertEquals(String.join("\n",
+            "Outer[",
+            "  name=\"name\",",
+            "  inner=Inner[",
+            "    count=1,",
+            "    scale=2.5",
+            "  ],",
+            "  inners=[",
+            "    Inner[",
+            "      count=-3,",
+            "      scale=0.0",
+            "    ]",
+            "  ]",
+            "]"
+        ), ObjectFormatterTest.formatValue(value, 2));
+    }
+
+    @Test
+    void collectionsAndMapsAreWalked() {
+        assertEquals("[1, 2, 3]", ObjectFormatterTest.formatValue(List.of(1, 2, 3), 0));
+        assertEquals("[]", ObjectFormatterTest.formatValue(List.of(), 0));
+        assertEquals("[\"a\", \"b\"]", ObjectFormatterTest.formatValue(new TreeSet<>(Set.of("b", "a")), 0));
+        assertEquals("{\"a\"=1, \"b\"=[true, false]}", ObjectFormatterTest.formatValue(new TreeMap<>(Map.of("a", 1, "b", List.of(true, false))), 0));
+        assertEquals("{}", ObjectFormatterTest.formatValue(Map.of(), 0));
+    }
+
+    @Test
+    void optionalsAreWalked() {
+        assertEquals("Optional[\"present\"]", ObjectFormatterTest.formatValue(Optional.of("present"), 0));
+        assertEquals("Optional.empty", ObjectFormatterTest.formatValue(Optional.empty(), 0));
+        assertEquals("Optional[Optional.empty]", ObjectFormatterTest.formatValue(Optional.of(Optional.empty()), 0));
+    }
+
+    @Test
+    void arraysAreWalked() {
+        assertEquals("[1, 2, 3]", ObjectFormatterTest.formatValue(new int[] { 1, 2, 3 }, 0));
+        assertEquals("[[1.5], []]", ObjectFormatterTest.formatValue(new double[][] { { 1.5 }, {} }, 0));
+        assertEquals("[\"a\", null]", ObjectFormatterTest.formatValue(new String[] { "a", null }, 0));
+    }
+
+    @Test
+    void enumsArePrintedWithToString() {
+        assertEquals("[FIRST, second]", ObjectFormatterTest.formatValue(List.of(Ordering.FIRST, Ordering.SECOND), 0));
+    }
+
+    @Test
+    void stringsAndCharsAreQuoted() {
+        assertEquals("\"text with [brackets], commas\"", ObjectFormatterTest.formatValue("text with [brackets], commas", 0));
+        assertEquals("\"text with [brackets], commas\"", ObjectFormatterTest.formatValue("text with [brackets], commas", 2));
+        assertEquals("['c', '\"']", ObjectFormatterTest.formatValue(List.of('c', '"'), 0));
+    }
+
+    // Results used to be keyed on the string representation, which a record may cut short
+    @Test
+    void recordsAreCachedByTheirComponents() {
+        ObjectFormatter formatter = new ObjectFormatter();
+
+        assertEquals("PartlyShown[shown=1, hidden=[2]]", formatter.componentToString(new Component<>(null, new PartlyShown(1, List.of(2))), 0));
+        assertEquals("PartlyShown[shown=1, hidden=[3]]", formatter.componentToString(new Component<>(null, new PartlyShown(1, List.of(3))), 0));
+    }
+
+    @Test
+    void valuesDeeperThanMaxDepthFail() {
+        Object value = "bottom";
+
+        for (int depth = 0; depth < 600; depth++) {
+            value = List.of(value);
+        }
+
+        Object deepValue = value;
+
+        assertThrows(FormattingException.class, () -> ObjectFormatterTest.formatValue(deepValue, 0));
+    }
+
+    private static String formatValue(Object value, int indentation) {
+        return new ObjectFormatter().componentToString(new Component<>(null, value), indentation).replace(System.lineSeparator(), "\n");
+    }
+
+    // Covers the single-line and the indented layout, both for strings and text
+    static String formatInAllWays(Formatter formatter, String value) {
+        Component<?> component = new Component<>(null, new OpaqueString(value));
+
+        return String.join("\n",
+            ObjectFormatterTest.format(() -> formatter.componentToString(component, 0)),
+            ObjectFormatterTest.FORMAT_SEPARATOR,
+            ObjectFormatterTest.format(() -> formatter.componentToString(component, 2, "> ")),
+            ObjectFormatterTest.FORMAT_SEPARATOR,
+            ObjectFormatterTest.format(() -> formatter.componentToText(component, 4, true).stream().map(Text::getString).collect(Collectors.joining("\n")))
+        );
+    }
+
+    // Values which can't be laid out, like ones with unbalanced brackets, are expected to fail
+    private static String format(Supplier<String> formatting) {
+        try {
+            return formatting.get().replace(System.lineSeparator(), "\n");
+        } catch (FormattingException e) {
+            return FormattingException.class.getSimpleName();
+        }
+    }
+
+    // Values the Object format knows nothing about but their string representation
+    static final class OpaqueString {
+        private final String string;
+
+        public OpaqueString(String string) {
+            this.string = string;
+        }
+
+        @Override
+        public String toString() {
+            return this.string;
+        }
+    }
+
+    record Inner(int count, float scale) {}
+
+    record Outer(String name, Inner inner, List<Inner> inners) {}
+
+    record PartlyShown(int shown, List<Integer> hidden) {
+        @Override
+        public String toString() {
+            return "PartlyShown[shown=" + this.shown + "]";
+        }
+    }
+
+    enum Ordering {
+        FIRST,
+        SECOND;
+
+        @Override
+        public String toString() {
+            return (this == Ordering.FIRST) ? this.name() : this.name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package dev.fixyl.componentviewer.formatting;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import net.minecraft.component.Component;
+import net.minecraft.item.ItemStack;
+import net.minecraft.text.MutableText;
+import net.minecraft.text.Style;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import dev.fixyl.componentviewer.formatting.ObjectFormatter.Tokenizer;
+import dev.fixyl.componentviewer.formatting.ObjectFormatter.TokenType;
+import dev.fixyl.componentviewer.formatting.RegexTokenizer.Token;
+import dev.fixyl.componentviewer.util.ResultCache;
+
+// The Object format from before tokens were passed as source ranges, kept as the
+// baseline the layout is benchmarked against. Its tokenizer handed every token over
+// as a record with a copy of its content, which the DFA tokenizer is wrapped to do.
+final class RecordTokenObjectFormatter implements Formatter {
+    private static final Map<TokenType, Style> TOKEN_STYLES = Map.ofEntries(
+        Map.entry(TokenType.ANY, Style.EMPTY.withColor(Formatting.AQUA)),
+        Map.entry(TokenType.SPECIAL, Style.EMPTY.withColor(Formatting.WHITE)),
+        Map.entry(TokenType.OPENING_BRACKET, Style.EMPTY.withColor(Formatting.WHITE)),
+        Map.entry(TokenType.CLOSING_BRACKET, Style.EMPTY.withColor(Formatting.WHITE)),
+        Map.entry(TokenType.COMMA, Style.EMPTY.withColor(Formatting.WHITE)),
+        Map.entry(TokenType.QUOTE, Style.EMPTY.withColor(Formatting.WHITE)),
+        Map.entry(TokenType.STRING, Style.EMPTY.withColor(Formatting.GREEN)),
+        Map.entry(TokenType.INTEGER, Style.EMPTY.withColor(Formatting.GOLD)),
+        Map.entry(TokenType.FLOAT, Style.EMPTY.withColor(Formatting.GOLD)),
+        Map.entry(TokenType.HEX, Style.EMPTY.withColor(Formatting.GOLD)),
+        Map.entry(TokenType.BOOLEAN, Style.EMPTY.withColor(Formatting.GOLD)),
+        Map.entry(TokenType.NULL, Style.EMPTY.withColor(Formatting.BLUE))
+    );
+
+    private static final Map<Character, Character> BRACKET_PAIR = Map.of(
+        '(', ')',
+        '{', '}',
+        '[', ']'
+    );
+
+    private final ResultCache<String> stringResultCache;
+    private final ResultCache<List<Text>> textResultCache;
+
+    public RecordTokenObjectFormatter() {
+        this.stringResultCache = new ResultCache<>();
+        this.textResultCache = new ResultCache<>();
+    }
+
+    @Override
+    public <T> String componentToString(Component<T> component, int indentation, String linePrefix) {
+        return this.valueToString(component.value().toString(), indentation, linePrefix);
+    }
+
+    @Override
+    public <T> List<Text> componentToText(Component<T> component, int indentation, boolean colored, String linePrefix) {
+        return this.valueToText(component.value().toString(), indentation, colored, linePrefix);
+    }
+
+    @Override
+    public String itemStackToString(ItemStack itemStack, int indentation, String linePrefix) {
+        return this.valueToString(itemStack.toString(), indentation, linePrefix);
+    }
+
+    @Override
+    public List<Text> itemStackToText(ItemStack itemStack, int indentation, boolean colored, String linePrefix) {
+        return this.valueToText(itemStack.toString(), indentation, colored, linePrefix);
+    }
+
+    private String valueToString(String value, int indentation, String linePrefix) {
+        return this.stringResultCache.cache(() -> {
+            if (indentation <= 0) {
+                return linePrefix + value;
+            }
+
+            return RecordTokenObjectFormatter.formatValue(value, new StringLineWriter(indentation, linePrefix, System.lineSeparator()));
+        }, value, indentation, linePrefix);
+    }
+
+    private List<Text> valueToText(String value, int indentation, boolean colored, String linePrefix) {
+        return Collections.unmodifiableList(this.textResultCache.cache(() -> {
+            if (indentation <= 0 && !colored) {
+                return List.of(Text.literal(linePrefix + value).fillStyle(Formatter.NO_COLOR_STYLE));
+            }
+
+            if (indentation <= 0) {
+                MutableText line = Text.literal(linePrefix);
+
+                RecordTokenObjectFormatter.tokenize(value, token -> line.append(Text.literal(token.content()).fillStyle(RecordTokenObjectFormatter.TOKEN_STYLES.get(token.tokenType()))));
+
+                return List.of(line);
+            }
+
+            return RecordTokenObjectFormatter.formatValue(value, new TextLineWriter(indentation, colored, linePrefix));
+        }, value, indentation, colored, linePrefix));
+    }
+
+    private static <R> R formatValue(String value, LineWriter<R> lineWriter) {
+        Layout layout = new Layout(lineWriter);
+
+        RecordTokenObjectFormatter.tokenize(value, layout::accept);
+        layout.finish();
+
+        return lineWriter.finish();
+    }
+
+    private static void tokenize(String value, Consumer<Token> tokenSink) {
+        new Tokenizer().tokenize(value, (tokenType, source, start, end) -> tokenSink.accept(new Token(tokenType, source.subSequence(start, end).toString())));
+    }
+
+    private enum State {
+        DEFAULT,
+        NEW_LINE,
+        EMPTY_BRACKETS
+    }
+
+    private static class Layout {
+        private final LineWriter<?> lineWriter;
+        private final List<Character> bracketHistory;
+
+        private int indentLevel;
+        private State state;
+
+        private boolean isOpeningBracketPending;
+
+        public Layout(LineWriter<?> lineWriter) {
+            this.lineWriter = lineWriter;
+            this.bracketHistory = new ArrayList<>();
+
+            this.indentLevel = 0;
+            this.state = State.DEFAULT;
+
+            this.isOpeningBracketPending = false;
+        }
+
+        public void accept(Token token) {
+            if (this.isOpeningBracketPending) {
+                this.isOpeningBracketPending = false;
+
+                if (token.tokenType() == TokenType.CLOSING_BRACKET) {
+                    this.state = State.EMPTY_BRACKETS;
+                } else {
+                    this.createNewLine(1);
+                }
+            }
+
+            switch (token.tokenType()) {
+                case COMMA -> this.processCommaToken(token);
+                case OPENING_BRACKET -> this.processOpeningBracketToken(token);
+                case CLOSING_BRACKET -> this.processClosingBracketToken(token);
+                default -> this.addToken(token);
+            }
+        }
+
+        public void finish() {
+            if (this.isOpeningBracketPending) {
+                this.isOpeningBracketPending = false;
+                this.createNewLine(1);
+            }
+
+            if (this.indentLevel != 0) {
+                throw new FormattingException(String.format(
+                    "Indent level must end up being zero! But it was %s.",
+                    this.indentLevel
+                ));
+            }
+        }
+
+        private void processCommaToken(Token token) {
+            this.addToken(token);
+            this.createNewLine(0);
+        }
+
+        private void processOpeningBracketToken(Token token) {
+            this.bracketHistory.add(token.content().charAt(0));
+
+            this.addToken(token);
+
+            this.isOpeningBracketPending = true;
+        }
+
+        private void processClosingBracketToken(Token token) {
+            char bracketCharacter = token.content().charAt(0);
+
+            if (this.bracketHistory.isEmpty() || !RecordTokenObjectFormatter.BRACKET_PAIR.get(this.bracketHistory.getLast()).equals(bracketCharacter)) {
+                throw new FormattingException(String.format(
+                    "Unexpected bracket '%s' encountered! Either no pair was to be closed, or a different bracket opened this pair.",
+                    bracketCharacter
+                ));
+            }
+
+            this.bracketHistory.removeLast();
+
+            if (this.state == State.EMPTY_BRACKETS) {
+                this.state = State.DEFAULT;
+            } else {
+                this.createNewLine(-1);
+            }
+
+            this.addToken(token);
+        }
+
+        private void createNewLine(int indentChange) {
+            this.indentLevel += indentChange;
+
+            this.lineWriter.newLine(this.indentLevel);
+
+            this.state = State.NEW_LINE;
+        }
+
+        private void addToken(Token token) {
+            String tokenContent = token.content();
+
+            if (this.state == State.NEW_LINE) {
+                tokenContent = tokenContent.stripLeading();
+                this.state = State.DEFAULT;
+            }
+
+            this.lineWriter.append(tokenContent, RecordTokenObjectFormatter.TOKEN_STYLES.get(token.tokenType()));
+        }
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.fixyl.componentviewer.formatting;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import dev.fixyl.componentviewer.formatting.ObjectFormatter.TokenType;
+
+// The regex based tokenizer the Object format used before its DFA tokenizer,
+// kept as the reference the tokens of the DFA tokenizer are compared with
+final class RegexTokenizer {
+    private static final Pattern NON_WORD_CHAR_PATTERN = Pattern.compile("^[^\\p{L}\\p{N}_]$");
+    private static final Pattern NON_WORD_DOT_CHAR_PATTERN = Pattern.compile("^[^\\p{L}\\p{N}_.]$");
+    private static final Pattern NON_WORD_DOT_DASH_CHAR_PATTERN = Pattern.compile("^[^\\p{L}\\p{N}_.\\-]$");
+
+    private static final Pattern CURLY_BRACKET_STRING_BEGIN_PATTERN = Pattern.compile("^(keybind|literal|pattern)\\{");
+    private static final Pattern INTEGER_PATTERN = Pattern.compile("^(-?\\d+)(?![\\p{L}\\p{N}_.\\-])");
+    private static final Pattern FLOAT_PATTERN = Pattern.compile("^(-?\\d+\\.\\d+)(?![\\p{L}\\p{N}_.\\-])");
+    private static final Pattern HEX_PATTERN = Pattern.compile("^([a-fA-F\\d]+)(?![\\p{L}\\p{N}_.])");
+    private static final Pattern BOOLEAN_PATTERN = Pattern.compile("^(true|false)(?![\\p{L}\\p{N}_])");
+    private static final Pattern NULL_PATTERN = Pattern.compile("^(null)(?![\\p{L}\\p{N}_])");
+
+    private Map<Pattern, Matcher> patternMatcherMap;
+
+    private String currentString;
+    private int stringLength;
+
+    private int currentIndex;
+    private char currentChar;
+
+    private List<Token> tokens;
+    private StringBuilder currentTokenContent;
+    private TokenType currentTokenType;
+
+    private TokenizerState tokenizerState;
+    private char currentOpeningQuote;
+
+    public List<Token> tokenize(String string) {
+        this.initializeTokenizerVariables(string);
+
+        while (this.currentIndex < this.stringLength) {
+            this.currentChar = string.charAt(this.currentIndex);
+            this.processCharacter();
+
+            this.currentIndex++;
+        }
+
+        this.finishCurrentToken();
+
+        return this.tokens;
+    }
+
+    private void initializeTokenizerVariables(String string) {
+        this.patternMatcherMap = new IdentityHashMap<>();
+
+        this.currentString = string;
+        this.stringLength = string.length();
+
+        this.currentIndex = 0;
+
+        this.tokens = new ArrayList<>();
+        this.currentTokenContent = new StringBuilder();
+        this.currentTokenType = TokenType.ANY;
+
+        this.tokenizerState = TokenizerState.DEFAULT;
+        this.currentOpeningQuote = '\0';
+    }
+
+    private Matcher getMatcherFromPattern(Pattern pattern) {
+        return this.patternMatcherMap.computeIfAbsent(pattern, key -> key.matcher(this.currentString));
+    }
+
+    private void processCharacter() {
+        switch (this.tokenizerState) {
+            case DEFAULT -> this.processDefaultTokenizerState();
+            case STRING -> this.processStringTokenizerState();
+            case CURLY_BRACKET_STRING -> this.processCurlyBracketStringTokenizerState();
+        }
+    }
+
+    private void processDefaultTokenizerState() {
+        // May match based on context
+        if (RegexTokenizer.isCurlyBracketStringBeginCharacter(this.currentChar) && this.matchCurlyBracketStringBegin()) {
+            return;
+        }
+
+        if (RegexTokenizer.isNumberCharacter(this.currentChar) && this.matchNumber()) {
+            return;
+        }
+
+        if (RegexTokenizer.isBooleanCharacter(this.currentChar) && this.matchBoolean()) {
+            return;
+        }
+
+        if (RegexTokenizer.isNullCharacter(this.currentChar) && this.matchNull()) {
+            return;
+        }
+
+        // Will always match
+        switch (this.currentChar) {
+            case ',', ';' -> this.processComma();
+            case '(', '{', '[' -> this.processOpeningBracket();
+            case ')', '}', ']' -> this.processClosingBracket();
+            case '"', '\'' -> this.processOpeningQuote();
+            case '+', '-', '*', '/', '=', '.', ':', '!', '?', '@', '#', '&', '%', '~', '<', '>', '|', '^', '\\' -> this.processSpecialCharacter();
+            default -> this.addCurrentCharacter(TokenType.ANY);
+        }
+    }
+
+    private void processStringTokenizerState() {
+        // May match based on context
+        if (RegexTokenizer.isQuoteCharacter(this.currentChar) && this.matchClosingQuote()) {
+            return;
+        }
+
+        // Will always match
+        this.addCurrentCharacter(TokenType.STRING);
+    }
+
+    private void processCurlyBracketStringTokenizerState() {
+        // Will always match
+        if (this.currentChar == '}') {
+            this.processCurlyBracketStringEnd();
+        } else {
+            this.addCurrentCharacter(TokenType.STRING);
+        }
+    }
+
+    private void processSpecialCharacter() {
+        this.finishCurrentToken();
+
+        this.addCurrentCharacter(TokenType.SPECIAL);
+    }
+
+    private void processComma() {
+        this.finishCurrentToken();
+
+        this.addCurrentCharacter(TokenType.COMMA);
+    }
+
+    private void processOpeningBracket() {
+        this.finishCurrentToken();
+
+        this.addCurrentCharacter(TokenType.OPENING_BRACKET);
+    }
+
+    private void processClosingBracket() {
+        this.finishCurrentToken();
+
+        this.addCurrentCharacter(TokenType.CLOSING_BRACKET);
+    }
+
+    private void processOpeningQuote() {
+        this.finishCurrentToken();
+
+        this.addCurrentCharacter(TokenType.QUOTE);
+        this.currentOpeningQuote = this.currentChar;
+
+        this.tokenizerState = TokenizerState.STRING;
+    }
+
+    private boolean matchClosingQuote() {
+        if (this.currentChar != this.currentOpeningQuote || this.currentString.charAt(this.currentIndex - 1) == '\\') {
+            return false;
+        }
+
+        this.finishCurrentToken(TokenType.STRING);
+
+        this.tokenizerState = TokenizerState.DEFAULT;
+
+        this.addCurrentCharacter(TokenType.QUOTE);
+        this.currentOpeningQuote = '\0';
+
+        return true;
+    }
+
+    private boolean matchCurlyBracketStringBegin() {
+        if (!this.matchRegex(RegexTokenizer.NON_WORD_CHAR_PATTERN, RegexTokenizer.CURLY_BRACKET_STRING_BEGIN_PATTERN, TokenType.ANY)) {
+            return false;
+        }
+
+        this.currentIndex++;
+        this.currentChar = '{';
+        this.processOpeningBracket();
+
+        this.tokenizerState = TokenizerState.CURLY_BRACKET_STRING;
+
+        return true;
+    }
+
+    private void processCurlyBracketStringEnd() {
+        this.tokenizerState = TokenizerState.DEFAULT;
+
+        this.processClosingBracket();
+    }
+
+    private boolean matchNumber() {
+        return this.matchRegex(RegexTokenizer.NON_WORD_DOT_DASH_CHAR_PATTERN, RegexTokenizer.INTEGER_PATTERN, TokenType.INTEGER)
+            || this.matchRegex(RegexTokenizer.NON_WORD_DOT_DASH_CHAR_PATTERN, RegexTokenizer.FLOAT_PATTERN, TokenType.FLOAT)
+            || this.matchRegex(RegexTokenizer.NON_WORD_DOT_CHAR_PATTERN, RegexTokenizer.HEX_PATTERN, TokenType.HEX);
+    }
+
+    private boolean matchBoolean() {
+        return this.matchRegex(RegexTokenizer.NON_WORD_CHAR_PATTERN, RegexTokenizer.BOOLEAN_PATTERN, TokenType.BOOLEAN);
+    }
+
+    private boolean matchNull() {
+        return this.matchRegex(RegexTokenizer.NON_WORD_CHAR_PATTERN, RegexTokenizer.NULL_PATTERN, TokenType.NULL);
+    }
+
+    private boolean matchRegex(Pattern leadingCharPattern, Pattern contentPattern, TokenType tokenType) {
+        Matcher leadingCharMatcher = this.getMatcherFromPattern(leadingCharPattern);
+        Matcher contentMatcher = this.getMatcherFromPattern(contentPattern);
+
+        boolean isValidLeadingChar = true;
+
+        if (this.currentIndex > 0) {
+            leadingCharMatcher.region(this.currentIndex - 1, this.currentIndex);
+            isValidLeadingChar = leadingCharMatcher.matches();
+        }
+
+        contentMatcher.region(this.currentIndex, this.stringLength);
+
+        if (!isValidLeadingChar || !contentMatcher.find()) {
+            return false;
+        }
+
+        this.finishCurrentToken();
+        this.addCharacters(contentMatcher.group(1), tokenType);
+        this.finishCurrentToken(tokenType);
+
+        return true;
+    }
+
+    private void addCurrentCharacter(TokenType tokenType) {
+        this.currentTokenContent.append(this.currentChar);
+
+        if (RegexTokenizer.isSingleCharacterTokenType(tokenType)) {
+            this.finishCurrentToken(tokenType);
+        }
+
+        this.currentTokenType = tokenType;
+    }
+
+    private void addCharacters(String characters, TokenType tokenType) {
+        this.currentTokenContent.append(characters);
+
+        this.currentTokenType = tokenType;
+        this.currentIndex += characters.length() - 1;
+    }
+
+    private void finishCurrentToken() {
+        this.finishCurrentToken(this.currentTokenType);
+    }
+
+    private void finishCurrentToken(TokenType tokenType) {
+        if (!this.currentTokenContent.isEmpty()) {
+            Token token = new Token(tokenType, this.currentTokenContent.toString());
+
+            this.currentTokenContent.setLength(0);
+            this.tokens.add(token);
+        }
+
+        this.currentTokenType = TokenType.ANY;
+    }
+
+    private static boolean isSingleCharacterTokenType(TokenType tokenType) {
+        return tokenType == TokenType.SPECIAL
+            || tokenType == TokenType.OPENING_BRACKET
+            || tokenType == TokenType.CLOSING_BRACKET
+            || tokenType == TokenType.COMMA
+            || tokenType == TokenType.QUOTE;
+    }
+
+    private static boolean isQuoteCharacter(char ch) {
+        return ch == '"'
+            || ch == '\'';
+    }
+
+    private static boolean isCurlyBracketStringBeginCharacter(char ch) {
+        return ch == 'k'
+            || ch == 'l'
+            || ch == 'p';
+    }
+
+    private static boolean isNumberCharacter(char ch) {
+        return ch >= '0' && ch <= '9'
+            || ch >= 'A' && ch <= 'F'
+            || ch >= 'a' && ch <= 'f'
+            || ch == '-';
+    }
+
+    private static boolean isBooleanCharacter(char ch) {
+        return ch == 'f'
+            || ch == 't';
+    }
+
+    private static boolean isNullCharacter(char ch) {
+        return ch == 'n';
+    }
+
+    private enum TokenizerState {
+        DEFAULT,
+        STRING,
+        CURLY_BRACKET_STRING
+    }
+
+    record Token(TokenType tokenType, String content) {}
+}
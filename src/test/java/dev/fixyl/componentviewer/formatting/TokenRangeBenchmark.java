@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package dev.fixyl.componentviewer.formatting;
+
+import net.minecraft.component.Component;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import dev.fixyl.componentviewer.formatting.ObjectFormatterTest.OpaqueString;
+
+// Run with ./gradlew benchmark
+@Tag("benchmark")
+class TokenRangeBenchmark {
+    @Test
+    void formatLargeValue() {
+        String largeValue = Corpus.createLargeValue(50000, TokenRangeBenchmark::canBeLaidOut);
+        Component<?> component = new Component<>(null, new OpaqueString(largeValue));
+
+        // A new formatter each run, as the results are cached per formatter
+        Runnable recordsToString = () -> new RecordTokenObjectFormatter().componentToString(component, 4);
+        Runnable rangesToString = () -> new ObjectFormatter().componentToString(component, 4);
+        Runnable recordsToText = () -> new RecordTokenObjectFormatter().componentToText(component, 4, true);
+        Runnable rangesToText = () -> new ObjectFormatter().componentToText(component, 4, true);
+
+        Benchmarks.report(
+            "Formatting " + largeValue.length() + " characters as a string",
+            "records", Benchmarks.measureMicrosPerRun(recordsToString),
+            "ranges", Benchmarks.measureMicrosPerRun(rangesToString),
+            "us"
+        );
+        Benchmarks.report(
+            "Bytes allocated formatting " + largeValue.length() + " characters as a string",
+            "records", Benchmarks.measureAllocatedBytesPerRun(recordsToString),
+            "ranges", Benchmarks.measureAllocatedBytesPerRun(rangesToString),
+            "B"
+        );
+        Benchmarks.report(
+            "Formatting " + largeValue.length() + " characters as text",
+            "records", Benchmarks.measureMicrosPerRun(recordsToText),
+            "ranges", Benchmarks.measureMicrosPerRun(rangesToText),
+            "us"
+        );
+        Benchmarks.report(
+            "Bytes allocated formatting " + largeValue.length() + " characters as text",
+            "records", Benchmarks.measureAllocatedBytesPerRun(recordsToText),
+            "ranges", Benchmarks.measureAllocatedBytesPerRun(rangesToText),
+            "B"
+        );
+    }
+
+    // Values with unbalanced brackets make the whole large value fail
+    private static boolean canBeLaidOut(String value) {
+        try {
+            new ObjectFormatter().componentToString(new Component<>(null, new OpaqueString(value)), 4);
+            return true;
+        } catch (FormattingException e) {
+            return false;
+        }
+    }
+}
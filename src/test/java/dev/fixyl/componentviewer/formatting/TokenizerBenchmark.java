@@ -0,0 +1,43 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.fixyl.componentviewer.formatting;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+// Run with ./gradlew benchmark
+@Tag("benchmark")
+class TokenizerBenchmark {
+    @Test
+    void tokenizeLargeValue() {
+        String largeValue = Corpus.createLargeValue(50000);
+
+        // Both collect the same token records, so only the tokenizing itself is compared
+        double regexMicros = Benchmarks.measureMicrosPerRun(() -> new RegexTokenizer().tokenize(largeValue));
+        double dfaMicros = Benchmarks.measureMicrosPerRun(() -> TokenizerTest.tokenize(largeValue));
+
+        Benchmarks.report("Tokenizing " + largeValue.length() + " characters", "regex", regexMicros, "DFA", dfaMicros, "us");
+    }
+}
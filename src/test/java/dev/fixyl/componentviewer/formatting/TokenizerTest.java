@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 fixyldev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.fixyl.componentviewer.formatting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import dev.fixyl.componentviewer.formatting.ObjectFormatter.Tokenizer;
+import dev.fixyl.componentviewer.formatting.RegexTokenizer.Token;
+
+class TokenizerTest {
+    @Test
+    void corpusTokensMatchRegexTokenizer() {
+        for (String string : Corpus.readObjectFormatterCorpus()) {
+            TokenizerTest.assertSameTokens(string);
+        }
+    }
+
+    @Test
+    void generatedTokensMatchRegexTokenizer() {
+        for (String string : Corpus.generateStrings(7, 20000, 24)) {
+            TokenizerTest.assertSameTokens(string);
+        }
+    }
+
+    @Test
+    void largeValueTokensMatchRegexTokenizer() {
+        TokenizerTest.assertSameTokens(Corpus.createLargeValue(50000));
+    }
+
+    static List<Token> tokenize(String string) {
+        List<Token> tokens = new ArrayList<>();
+        new Tokenizer().tokenize(string, (tokenType, source, start, end) -> tokens.add(new Token(tokenType, source.subSequence(start, end).toString())));
+
+        return tokens;
+    }
+
+    private static void assertSameTokens(String string) {
+        assertEquals(new RegexTokenizer().tokenize(string), TokenizerTest.tokenize(string), () -> String.format("Tokens differ for \"%s\"", string));
+    }
+}